@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+#
+# Measures the time from JVM launch to the first successful GET /noop, and to the first response from GET /v1/{id} so
+# any persistence setup deferred past startup is visible.
+#
+# Usage: bin/startup-time.sh [runs] [extra JVM args...]
+#
+# Run from target/fast-startup after `mvn -P fast-startup package` to measure the startup-optimized build, e.g.
+#   ../../bin/startup-time.sh 10 -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup
+#
+# Runs ${JAVA_HOME}/bin/java when JAVA_HOME is set, which must be the JDK that trained the CDS archive.
+#
+# Prints one CSV line per run (run,noop_millis,first_query_millis) followed by min, median and max of each.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+shift || true
+
+PORT="${PORT:-18080}"
+JAR="${JAR:-$(ls tn-element-service-*.jar 2>/dev/null | head -n 1)}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-60}"
+
+if [[ -z "${JAR}" ]]; then
+  echo "No tn-element-service jar found, set JAR" >&2
+  exit 1
+fi
+
+JAVA="${JAVA_HOME:+${JAVA_HOME}/bin/}java"
+
+# `date +%s%3N` is GNU-only, so use bash 5's EPOCHREALTIME where available and fall back to perl, e.g. on macOS.
+if [[ -n "${EPOCHREALTIME:-}" ]]; then
+  now_millis() { local micros="${EPOCHREALTIME/[.,]/}"; echo $((micros / 1000)); }
+else
+  now_millis() { perl -MTime::HiRes=time -e 'printf "%d\n", time() * 1000'; }
+fi
+
+noop_results=()
+query_results=()
+
+echo "run,noop_millis,first_query_millis"
+
+for ((run = 1; run <= RUNS; run++)); do
+  start=$(now_millis)
+
+  "${JAVA}" "$@" -Dserver.port="${PORT}" -jar "${JAR}" > /dev/null 2>&1 &
+  pid=$!
+
+  deadline=$((start + TIMEOUT_SECONDS * 1000))
+  until curl -sf -o /dev/null "http://localhost:${PORT}/noop"; do
+    if (( $(now_millis) > deadline )) || ! kill -0 "${pid}" 2>/dev/null; then
+      kill "${pid}" 2>/dev/null || true
+      echo "Run ${run} did not respond on /noop within ${TIMEOUT_SECONDS}s" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+
+  noop_elapsed=$(($(now_millis) - start))
+
+  # Any status, including 404, means the request went through the repository.
+  curl -s -o /dev/null "http://localhost:${PORT}/v1/0"
+  query_elapsed=$(($(now_millis) - start))
+
+  noop_results+=("${noop_elapsed}")
+  query_results+=("${query_elapsed}")
+  echo "${run},${noop_elapsed},${query_elapsed}"
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+done
+
+noop_sorted=($(printf '%s\n' "${noop_results[@]}" | sort -n))
+query_sorted=($(printf '%s\n' "${query_results[@]}" | sort -n))
+echo "min,${noop_sorted[0]},${query_sorted[0]}"
+echo "median,${noop_sorted[$((RUNS / 2))]},${query_sorted[$((RUNS / 2))]}"
+echo "max,${noop_sorted[$((RUNS - 1))]},${query_sorted[$((RUNS - 1))]}"
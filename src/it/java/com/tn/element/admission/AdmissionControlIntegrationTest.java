@@ -0,0 +1,130 @@
+package com.tn.element.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static com.tn.element.admission.AdmissionRejectedException.Reason.QUEUE_FULL;
+import static com.tn.element.admission.AdmissionRejectedException.Reason.TIMED_OUT;
+import static com.tn.element.admission.RequestCost.FILTERED_SCAN;
+import static com.tn.element.admission.RequestCost.FULL_SCAN;
+import static com.tn.element.admission.RequestCost.POINT_READ;
+import static com.tn.element.admission.RequestCost.WRITE;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlIntegrationTest
+{
+  private static final AdmissionProperties.Limits LIMITS = new AdmissionProperties.Limits(1, 1, Duration.ofMillis(50));
+  private static final AdmissionProperties.Limits WRITE_LIMITS = new AdmissionProperties.Limits(1, 1, Duration.ofSeconds(5));
+  private static final AdmissionProperties PROPERTIES = new AdmissionProperties(LIMITS, LIMITS, LIMITS, WRITE_LIMITS, Duration.ofSeconds(2));
+
+  private SimpleMeterRegistry meterRegistry;
+  private AdmissionControl admissionControl;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void createAdmissionControl()
+  {
+    meterRegistry = new SimpleMeterRegistry();
+    admissionControl = new AdmissionControl(PROPERTIES, meterRegistry);
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterEach
+  void shutdown()
+  {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldAdmitAfterRelease()
+  {
+    admissionControl.admit(POINT_READ).close();
+    admissionControl.admit(POINT_READ).close();
+  }
+
+  @Test
+  void shouldRejectWhenWaitTimesOut()
+  {
+    try (var permit = admissionControl.admit(FULL_SCAN))
+    {
+      var e = assertThrows(AdmissionRejectedException.class, () -> admissionControl.admit(FULL_SCAN));
+      assertEquals(TIMED_OUT, e.reason());
+      assertEquals(Duration.ofSeconds(2), e.retryAfter());
+      assertEquals(1.0, meterRegistry.get("element.admission.rejected").tag("cost", "full_scan").tag("reason", "timed_out").counter().count());
+    }
+  }
+
+  @Test
+  void shouldRejectWhenQueueFull() throws Exception
+  {
+    var permit = admissionControl.admit(WRITE);
+    Future<?> queued = executor.submit(() -> admissionControl.admit(WRITE).close());
+
+    while (meterRegistry.get("element.admission.queued").tag("cost", "write").gauge().value() < 1) Thread.onSpinWait();
+
+    var e = assertThrows(AdmissionRejectedException.class, () -> admissionControl.admit(WRITE));
+    assertEquals(QUEUE_FULL, e.reason());
+
+    permit.close();
+    queued.get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void shouldNotAdmitAheadOfQueuedCaller() throws Exception
+  {
+    var permit = admissionControl.admit(WRITE);
+    var waiter = new AtomicReference<Thread>();
+    var release = new CountDownLatch(1);
+    Future<?> queued = executor.submit(
+      () ->
+      {
+        waiter.set(Thread.currentThread());
+        try (var queuedPermit = admissionControl.admit(WRITE))
+        {
+          release.await();
+        }
+        return null;
+      }
+    );
+
+    while (waiter.get() == null || waiter.get().getState() != Thread.State.TIMED_WAITING) Thread.onSpinWait();
+
+    permit.close();
+    assertThrows(AdmissionRejectedException.class, () -> admissionControl.admit(WRITE));
+
+    release.countDown();
+    queued.get(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void shouldIsolateCosts()
+  {
+    try (var permit = admissionControl.admit(FULL_SCAN))
+    {
+      admissionControl.admit(FILTERED_SCAN).close();
+      admissionControl.admit(POINT_READ).close();
+    }
+  }
+
+  @Test
+  void shouldReleaseOnlyOnce()
+  {
+    var permit = admissionControl.admit(POINT_READ);
+    permit.close();
+    permit.close();
+
+    assertEquals(0.0, meterRegistry.get("element.admission.active").tag("cost", "point_read").gauge().value());
+  }
+}
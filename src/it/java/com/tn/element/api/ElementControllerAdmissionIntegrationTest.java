@@ -0,0 +1,95 @@
+package com.tn.element.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpMethod.PUT;
+
+import static com.tn.element.admission.RequestCost.WRITE;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+import com.tn.element.admission.AdmissionControl;
+import com.tn.element.api.ElementController.ElementRequest;
+import com.tn.element.domain.Element;
+import com.tn.element.repository.ElementRepository;
+
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = {
+    "element.admission.write.max-concurrent=1",
+    "element.admission.write.max-wait=10s"
+  }
+)
+class ElementControllerAdmissionIntegrationTest
+{
+  private static final String OWNER_ID = "ADM1";
+
+  @Autowired
+  AdmissionControl admissionControl;
+
+  @Autowired
+  ElementRepository elementRepository;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  TestRestTemplate testRestTemplate;
+
+  private Element element;
+
+  @BeforeEach
+  void createElement()
+  {
+    element = elementRepository.save(new Element(OWNER_ID, "TEST", "Queued"));
+  }
+
+  @AfterEach
+  void deleteElement()
+  {
+    elementRepository.deleteById(element.id());
+  }
+
+  @Test
+  void shouldNotHoldConnectionWhileQueuedForWrite() throws Exception
+  {
+    var permit = admissionControl.admit(WRITE);
+
+    CompletableFuture<ResponseEntity<Element>> update = CompletableFuture.supplyAsync(
+      () -> testRestTemplate.exchange(
+        "/v1/{id}",
+        PUT,
+        new HttpEntity<>(new ElementRequest(null, OWNER_ID, "TEST", "Updated")),
+        Element.class,
+        element.id()
+      )
+    );
+
+    while (meterRegistry.get("element.admission.queued").tag("cost", "write").gauge().value() < 1) Thread.onSpinWait();
+
+    assertEquals(0, dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections());
+
+    permit.close();
+
+    var response = update.get(10, TimeUnit.SECONDS);
+    assertTrue(response.getStatusCode().is2xxSuccessful());
+    assertEquals("Updated", response.getBody().name());
+  }
+}
@@ -2,6 +2,8 @@ package com.tn.element.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpMethod.DELETE;
@@ -11,6 +13,10 @@ import static org.springframework.http.HttpMethod.PUT;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+import static com.tn.element.repository.QueryLimitExceededException.Limit.MAX_RESULTS;
+import static com.tn.element.repository.QueryLimitExceededException.Limit.STATEMENT_TIMEOUT;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,6 +34,7 @@ import org.springframework.http.ResponseEntity;
 
 import com.tn.element.domain.Element;
 import com.tn.element.repository.ElementRepository;
+import com.tn.element.repository.QueryLimitExceededException;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class ElementControllerIntegrationTest
@@ -48,7 +55,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnAllElements()
   {
-    when(elementRepository.findAll()).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findAll(any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1", GET, null, ELEMENT_LIST);
 
@@ -80,7 +87,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForIdWithParam()
   {
-    when(elementRepository.findWhere("id=" + ELEMENT.id())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("id=" + ELEMENT.id()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?id={elementId}", GET, null, ELEMENT_LIST, ELEMENT.id());
 
@@ -91,7 +98,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForIdWithQuery()
   {
-    when(elementRepository.findWhere("id=" + ELEMENT.id())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("id=" + ELEMENT.id()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?q=id={elementId}", GET, null, ELEMENT_LIST, ELEMENT.id());
 
@@ -102,7 +109,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForParentIdWithParam()
   {
-    when(elementRepository.findWhere("parentId=" + ELEMENT.parentId())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("parentId=" + ELEMENT.parentId()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?parentId={elementParentId}", GET, null, ELEMENT_LIST, ELEMENT.parentId());
 
@@ -113,7 +120,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForParentIdWithQuery()
   {
-    when(elementRepository.findWhere("parentId=" + ELEMENT.parentId())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("parentId=" + ELEMENT.parentId()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?q=parentId={elementParentId}", GET, null, ELEMENT_LIST, ELEMENT.parentId());
 
@@ -125,7 +132,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForTypeWithParam()
   {
-    when(elementRepository.findWhere("type=" + ELEMENT.type())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("type=" + ELEMENT.type()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?type={elementType}", GET, null, ELEMENT_LIST, ELEMENT.type());
 
@@ -136,7 +143,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForTypeWithQuery()
   {
-    when(elementRepository.findWhere("type=" + ELEMENT.type())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("type=" + ELEMENT.type()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?q=type={elementType}", GET, null, ELEMENT_LIST, ELEMENT.type());
 
@@ -147,7 +154,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForNameWithParam()
   {
-    when(elementRepository.findWhere("name=" + ELEMENT.name())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("name=" + ELEMENT.name()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?name={elementName}", GET, null, ELEMENT_LIST, ELEMENT.name());
 
@@ -158,7 +165,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForNameWithQuery()
   {
-    when(elementRepository.findWhere("name=" + ELEMENT.name())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("name=" + ELEMENT.name()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?q=name={elementName}", GET, null, ELEMENT_LIST, ELEMENT.name());
 
@@ -169,7 +176,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForCreatedWithParam()
   {
-    when(elementRepository.findWhere("created=" + ELEMENT.created())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("created=" + ELEMENT.created()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?created={elementCreated}", GET, null, ELEMENT_LIST, ELEMENT.created());
 
@@ -180,7 +187,7 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnElementForCreatedWithQuery()
   {
-    when(elementRepository.findWhere("created=" + ELEMENT.created())).thenReturn(List.of(ELEMENT));
+    when(elementRepository.findWhere(eq("created=" + ELEMENT.created()), any(), any())).thenReturn(List.of(ELEMENT));
 
     ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1?q=created={elementCreated}", GET, null, ELEMENT_LIST, ELEMENT.created());
 
@@ -207,13 +214,35 @@ class ElementControllerIntegrationTest
   @Test
   void shouldReturnInternalServerErrorForGetOnUncaughtException()
   {
-    when(elementRepository.findWhere("name=X")).thenThrow(new RuntimeException());
+    when(elementRepository.findWhere(eq("name=X"), any(), any())).thenThrow(new RuntimeException());
 
     ResponseEntity<Void> response = testRestTemplate.exchange("/v1?name=X", GET, null, Void.class);
 
     assertEquals(INTERNAL_SERVER_ERROR, response.getStatusCode());
   }
 
+  @Test
+  void shouldReturnBadRequestForGetWhenMaxResultsExceeded()
+  {
+    when(elementRepository.findWhere(eq("name=X"), any(), any())).thenThrow(new QueryLimitExceededException(MAX_RESULTS, "Too many", null));
+
+    ResponseEntity<ElementController.ErrorResponse> response = testRestTemplate.exchange("/v1?name=X", GET, null, ElementController.ErrorResponse.class);
+
+    assertEquals(BAD_REQUEST, response.getStatusCode());
+    assertEquals("Too many", response.getBody().message());
+  }
+
+  @Test
+  void shouldReturnServiceUnavailableForGetWhenStatementTimeoutExceeded()
+  {
+    when(elementRepository.findAll(any(), any())).thenThrow(new QueryLimitExceededException(STATEMENT_TIMEOUT, "Too slow", null));
+
+    ResponseEntity<ElementController.ErrorResponse> response = testRestTemplate.exchange("/v1", GET, null, ElementController.ErrorResponse.class);
+
+    assertEquals(SERVICE_UNAVAILABLE, response.getStatusCode());
+    assertEquals("Too slow", response.getBody().message());
+  }
+
   @Test
   void shouldSaveElementWithPost()
   {
@@ -0,0 +1,102 @@
+package com.tn.element.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tn.element.api.ElementController.ErrorResponse;
+import com.tn.element.domain.Element;
+import com.tn.element.repository.ElementRepository;
+import com.tn.element.repository.SlowSelectTrigger;
+
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = {
+    "element.admission.full-scan.max-concurrent=1",
+    "element.admission.full-scan.max-wait=10s",
+    "element.query.full-scan.statement-timeout=1s"
+  }
+)
+class ElementControllerScanIntegrationTest
+{
+  private static final ParameterizedTypeReference<List<Element>> ELEMENT_LIST = new ParameterizedTypeReference<>() {};
+
+  // Longer than the statement timeout plus the async grace, and the trigger only sees the cancellation once it returns.
+  private static final long QUERY_DELAY_MILLIS = 4_000;
+
+  @Autowired
+  ElementRepository elementRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Autowired
+  TestRestTemplate testRestTemplate;
+
+  private Element element;
+
+  @BeforeEach
+  void createElement()
+  {
+    element = elementRepository.save(new Element("SCAN1", "TEST", "Scanned"));
+  }
+
+  @AfterEach
+  void deleteElement()
+  {
+    jdbcTemplate.execute("DROP TRIGGER IF EXISTS slow_select");
+    SlowSelectTrigger.delayMillis = 0;
+
+    elementRepository.deleteById(element.id());
+  }
+
+  @Test
+  void shouldReleaseScanPermitAfterTimedOutScanFinishes() throws Exception
+  {
+    SlowSelectTrigger.delayMillis = QUERY_DELAY_MILLIS;
+    jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS slow_select BEFORE SELECT ON elements CALL \"" + SlowSelectTrigger.class.getName() + "\"");
+
+    ResponseEntity<ErrorResponse> timedOut = testRestTemplate.exchange("/v1", GET, null, ErrorResponse.class);
+
+    assertEquals(SERVICE_UNAVAILABLE, timedOut.getStatusCode());
+    assertTrue(timedOut.getBody().message().contains("statement timeout"), timedOut.getBody().message());
+
+    // The statement is still running, so the scan keeps its permit.
+    assertEquals(1, activeFullScans());
+
+    jdbcTemplate.execute("DROP TRIGGER IF EXISTS slow_select");
+    SlowSelectTrigger.delayMillis = 0;
+
+    long deadline = System.currentTimeMillis() + QUERY_DELAY_MILLIS * 2;
+    while (activeFullScans() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(50);
+    assertEquals(0, activeFullScans());
+
+    ResponseEntity<List<Element>> response = testRestTemplate.exchange("/v1", GET, null, ELEMENT_LIST);
+
+    assertEquals(OK, response.getStatusCode());
+    assertTrue(response.getBody().stream().anyMatch(e -> e.id().equals(element.id())));
+  }
+
+  private double activeFullScans()
+  {
+    return meterRegistry.get("element.admission.active").tag("cost", "full_scan").gauge().value();
+  }
+}
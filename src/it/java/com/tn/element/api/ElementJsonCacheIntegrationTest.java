@@ -0,0 +1,112 @@
+package com.tn.element.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.tn.element.domain.Element;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ElementJsonCacheIntegrationTest
+{
+  private static final LocalDateTime NOW = LocalDateTime.now();
+  private static final Element ELEMENT = new Element(2L, 1L, "OWN1", "TEST", "ELEMENT", NOW, NOW);
+
+  @Autowired
+  ElementJsonCache elementJsonCache;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @BeforeEach
+  void invalidate()
+  {
+    elementJsonCache.invalidate(ELEMENT.id());
+  }
+
+  @Test
+  void shouldReturnSerializedElement() throws Exception
+  {
+    assertArrayEquals(objectMapper.writeValueAsBytes(ELEMENT), elementJsonCache.bytesFor(ELEMENT));
+  }
+
+  @Test
+  void shouldReturnCachedBytesForUnchangedElement()
+  {
+    assertSame(elementJsonCache.bytesFor(ELEMENT), elementJsonCache.bytesFor(ELEMENT));
+  }
+
+  @Test
+  void shouldReserializeWhenUpdatedChanges()
+  {
+    var bytes = elementJsonCache.bytesFor(ELEMENT);
+    var updated = new Element(ELEMENT.id(), ELEMENT.parentId(), ELEMENT.ownerId(), ELEMENT.type(), ELEMENT.name(), NOW, NOW.plusSeconds(1));
+
+    assertNotSame(bytes, elementJsonCache.bytesFor(updated));
+  }
+
+  @Test
+  void shouldReserializeWhenInvalidated()
+  {
+    var bytes = elementJsonCache.bytesFor(ELEMENT);
+    elementJsonCache.invalidate(ELEMENT.id());
+
+    assertNotSame(bytes, elementJsonCache.bytesFor(ELEMENT));
+  }
+
+  @Test
+  void shouldNotCacheUnsavedElement()
+  {
+    int size = elementJsonCache.size();
+    elementJsonCache.bytesFor(new Element("OWN1", "TEST", "UNSAVED"));
+
+    assertEquals(size, elementJsonCache.size());
+  }
+
+  @Test
+  void shouldNotCacheScannedElement()
+  {
+    var cache = new ElementJsonCache(objectMapper, 2);
+    cache.bytesForScan(element(1L));
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void shouldReturnCachedBytesForScannedElement()
+  {
+    var cache = new ElementJsonCache(objectMapper, 2);
+    var bytes = cache.bytesFor(element(1L));
+
+    assertSame(bytes, cache.bytesForScan(element(1L)));
+  }
+
+  @Test
+  void shouldEvictUnreadEntryBeforeReadEntryWhenFull()
+  {
+    var cache = new ElementJsonCache(objectMapper, 2);
+    var first = cache.bytesFor(element(1L));
+    var second = cache.bytesFor(element(2L));
+
+    cache.bytesFor(element(1L));
+    cache.bytesFor(element(3L));
+
+    assertEquals(2, cache.size());
+    assertSame(first, cache.bytesFor(element(1L)));
+    assertNotSame(second, cache.bytesFor(element(2L)));
+  }
+
+  private static Element element(long id)
+  {
+    return new Element(id, null, "OWN1", "TEST", "ELEMENT" + id, NOW, NOW);
+  }
+}
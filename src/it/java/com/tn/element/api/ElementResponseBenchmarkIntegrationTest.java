@@ -0,0 +1,188 @@
+package com.tn.element.api;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.GET;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import com.tn.element.domain.Element;
+import com.tn.element.repository.ElementRepository;
+
+/**
+ * Compares the server-side allocation and CPU time per request for <code>GET /v1/{id}</code> and <code>GET /v1</code>
+ * with the JSON cache warm against the same requests with it cleared before each one, so every element is serialized.
+ * Only the pooled threads that serve requests, run scans and stream responses are measured, and the cached and uncached
+ * runs alternate which goes first.  Enabled by the <code>benchmark</code> Maven profile.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ElementResponseBenchmarkIntegrationTest
+{
+  private static final LocalDateTime NOW = LocalDateTime.now();
+  private static final List<Element> ELEMENTS = LongStream.rangeClosed(1, 100)
+    .mapToObj(id -> new Element(id, null, "OWN1", "TEST", "ELEMENT" + id, NOW, NOW))
+    .toList();
+  private static final List<String> SERVER_THREAD_PREFIXES = List.of("http-nio-", "scan-", "task-");
+  private static final int WARM_UP_ITERATIONS = 500;
+  private static final int ROUNDS = 10;
+  private static final int ITERATIONS_PER_ROUND = 200;
+
+  @MockBean
+  ElementRepository elementRepository;
+
+  @Autowired
+  ElementJsonCache elementJsonCache;
+
+  @Autowired
+  TestRestTemplate testRestTemplate;
+
+  @BeforeEach
+  void mockRepository()
+  {
+    when(elementRepository.findById(1L)).thenReturn(Optional.of(ELEMENTS.get(0)));
+    when(elementRepository.findAll(any(), any())).thenReturn(ELEMENTS);
+  }
+
+  @Test
+  void shouldReduceAllocationForElementForId()
+  {
+    Comparison comparison = compare(
+      () -> elementJsonCache.invalidate(1L),
+      () -> elementJsonCache.bytesFor(ELEMENTS.get(0)),
+      () -> testRestTemplate.exchange("/v1/{id}", GET, null, String.class, 1L)
+    );
+
+    log.info("GET /v1/{id} per request - {}", comparison);
+
+    assertTrue(comparison.cached().allocatedBytes() < comparison.uncached().allocatedBytes(), comparison.toString());
+  }
+
+  @Test
+  void shouldReduceAllocationForElements()
+  {
+    Comparison comparison = compare(
+      () -> ELEMENTS.forEach(element -> elementJsonCache.invalidate(element.id())),
+      () -> ELEMENTS.forEach(elementJsonCache::bytesFor),
+      () -> testRestTemplate.exchange("/v1", GET, null, String.class)
+    );
+
+    log.info("GET /v1 per request - {}", comparison);
+
+    assertTrue(comparison.cached().allocatedBytes() < comparison.uncached().allocatedBytes(), comparison.toString());
+  }
+
+  /**
+   * The cache is cleared or warmed on the test thread, so neither is counted against the request.
+   */
+  private static Comparison compare(Runnable clearCache, Runnable warmCache, Runnable request)
+  {
+    for (int i = 0; i < WARM_UP_ITERATIONS; i++)
+    {
+      clearCache.run();
+      request.run();
+      warmCache.run();
+      request.run();
+    }
+
+    Measurement uncached = new Measurement(0, 0);
+    Measurement cached = new Measurement(0, 0);
+    for (int round = 0; round < ROUNDS; round++)
+    {
+      if (round % 2 == 0)
+      {
+        uncached = uncached.plus(measure(clearCache, request));
+        cached = cached.plus(measure(warmCache, request));
+      }
+      else
+      {
+        cached = cached.plus(measure(warmCache, request));
+        uncached = uncached.plus(measure(clearCache, request));
+      }
+    }
+
+    int iterations = ROUNDS * ITERATIONS_PER_ROUND;
+    return new Comparison(uncached.per(iterations), cached.per(iterations));
+  }
+
+  private static Measurement measure(Runnable beforeRequest, Runnable request)
+  {
+    Map<Long, Measurement> before = serverThreads();
+    for (int i = 0; i < ITERATIONS_PER_ROUND; i++)
+    {
+      beforeRequest.run();
+      request.run();
+    }
+    Map<Long, Measurement> after = serverThreads();
+
+    Measurement total = new Measurement(0, 0);
+    for (Map.Entry<Long, Measurement> thread : after.entrySet())
+    {
+      Measurement start = before.getOrDefault(thread.getKey(), new Measurement(0, 0));
+      total = total.plus(new Measurement(thread.getValue().allocatedBytes() - start.allocatedBytes(), thread.getValue().cpuNanos() - start.cpuNanos()));
+    }
+
+    return total;
+  }
+
+  private static Map<Long, Measurement> serverThreads()
+  {
+    var threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    Map<Long, Measurement> threads = new HashMap<>();
+    for (Thread thread : Thread.getAllStackTraces().keySet())
+    {
+      if (SERVER_THREAD_PREFIXES.stream().noneMatch(thread.getName()::startsWith)) continue;
+
+      long id = thread.getId();
+      threads.put(id, new Measurement(threadMXBean.getThreadAllocatedBytes(id), threadMXBean.getThreadCpuTime(id)));
+    }
+
+    return threads;
+  }
+
+  private record Measurement(long allocatedBytes, long cpuNanos)
+  {
+    Measurement plus(Measurement other)
+    {
+      return new Measurement(allocatedBytes + other.allocatedBytes, cpuNanos + other.cpuNanos);
+    }
+
+    Measurement per(int iterations)
+    {
+      return new Measurement(allocatedBytes / iterations, cpuNanos / iterations);
+    }
+
+    @Override
+    public String toString()
+    {
+      return allocatedBytes + " bytes, " + cpuNanos + " ns CPU";
+    }
+  }
+
+  private record Comparison(Measurement uncached, Measurement cached)
+  {
+    @Override
+    public String toString()
+    {
+      return "uncached: " + uncached + "; cached: " + cached;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.tn.element.hierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+import com.tn.element.api.ElementController.ElementRequest;
+import com.tn.element.domain.Element;
+import com.tn.element.hierarchy.HierarchyController.Node;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "element.hierarchy.enabled=true")
+class HierarchyControllerIntegrationTest
+{
+  private static final String OWNER_ID = "HIER1";
+  private static final ParameterizedTypeReference<List<Node>> NODE_LIST = new ParameterizedTypeReference<>() {};
+
+  @Autowired
+  TestRestTemplate testRestTemplate;
+
+  private Element root;
+  private Element child;
+
+  // Writes go through the API, as the index only tracks changes made by ElementController.
+  @BeforeEach
+  void createElements()
+  {
+    root = create(null, "Root");
+    child = create(root.id(), "Child");
+  }
+
+  @AfterEach
+  void deleteElements()
+  {
+    delete(child);
+    delete(root);
+  }
+
+  @Test
+  void shouldReturnRoots()
+  {
+    assertEquals(List.of(node(root)), get("/v1/hierarchy/{ownerId}", OWNER_ID));
+  }
+
+  @Test
+  void shouldReturnChildren()
+  {
+    assertEquals(List.of(node(child)), get("/v1/hierarchy/{ownerId}/{id}/children", OWNER_ID, root.id()));
+  }
+
+  @Test
+  void shouldReturnSubtree()
+  {
+    assertEquals(List.of(node(root), node(child)), get("/v1/hierarchy/{ownerId}/{id}/subtree", OWNER_ID, root.id()));
+  }
+
+  @Test
+  void shouldReturnPath()
+  {
+    assertEquals(List.of(node(root), node(child)), get("/v1/hierarchy/{ownerId}/{id}/path", OWNER_ID, child.id()));
+  }
+
+  @Test
+  void shouldReturnNoRootsForUnknownOwner()
+  {
+    assertEquals(List.of(), get("/v1/hierarchy/{ownerId}", OWNER_ID + "UNKNOWN"));
+  }
+
+  @Test
+  void shouldReturnNotFoundForUnknownElement()
+  {
+    ResponseEntity<Void> response = testRestTemplate.exchange("/v1/hierarchy/{ownerId}/{id}/children", GET, null, Void.class, OWNER_ID, child.id() + 100);
+
+    assertEquals(NOT_FOUND, response.getStatusCode());
+  }
+
+  @Test
+  void shouldReflectWrites()
+  {
+    get("/v1/hierarchy/{ownerId}", OWNER_ID);
+
+    Element created = create(child.id(), "Grandchild");
+
+    assertEquals(List.of(node(created)), get("/v1/hierarchy/{ownerId}/{id}/children", OWNER_ID, child.id()));
+
+    delete(created);
+
+    assertEquals(List.of(), get("/v1/hierarchy/{ownerId}/{id}/children", OWNER_ID, child.id()));
+  }
+
+  private Element create(Long parentId, String name)
+  {
+    return testRestTemplate.exchange("/v1", POST, new HttpEntity<>(new ElementRequest(parentId, OWNER_ID, "TEST", name)), Element.class).getBody();
+  }
+
+  private void delete(Element element)
+  {
+    testRestTemplate.exchange("/v1/{id}", DELETE, null, Void.class, element.id());
+  }
+
+  private List<Node> get(String url, Object... uriVariables)
+  {
+    return testRestTemplate.exchange(url, GET, null, NODE_LIST, uriVariables).getBody();
+  }
+
+  private static Node node(Element element)
+  {
+    return new Node(element.id(), element.parentId(), element.type(), element.name());
+  }
+}
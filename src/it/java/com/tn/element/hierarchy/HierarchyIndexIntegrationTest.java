@@ -0,0 +1,147 @@
+package com.tn.element.hierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tn.element.admission.AdmissionControl;
+import com.tn.element.admission.AdmissionProperties;
+import com.tn.element.domain.Element;
+import com.tn.element.repository.ElementRepository;
+import com.tn.element.repository.QueryLimits;
+import com.tn.element.repository.QueryLimitsProperties;
+
+class HierarchyIndexIntegrationTest
+{
+  private static final String OWNER_ID = "OWN1";
+  private static final String OTHER_OWNER_ID = "OWN2";
+  private static final String THIRD_OWNER_ID = "OWN3";
+  private static final LocalDateTime NOW = LocalDateTime.now();
+
+  private static final AdmissionProperties.Limits ADMISSION_LIMITS = new AdmissionProperties.Limits(4, 4, Duration.ofSeconds(5));
+  private static final AdmissionProperties ADMISSION_PROPERTIES = new AdmissionProperties(
+    ADMISSION_LIMITS,
+    ADMISSION_LIMITS,
+    ADMISSION_LIMITS,
+    ADMISSION_LIMITS,
+    Duration.ofSeconds(1)
+  );
+  private static final QueryLimits QUERY_LIMITS = new QueryLimits(100, Duration.ofSeconds(5));
+  private static final QueryLimitsProperties QUERY_LIMITS_PROPERTIES = new QueryLimitsProperties(QUERY_LIMITS, QUERY_LIMITS, QUERY_LIMITS);
+
+  private ElementRepository elementRepository;
+  private AdmissionControl admissionControl;
+
+  @BeforeEach
+  void createDependencies()
+  {
+    elementRepository = mock(ElementRepository.class);
+    admissionControl = new AdmissionControl(ADMISSION_PROPERTIES, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void shouldCacheLoadedHierarchy()
+  {
+    when(elementRepository.findByOwnerId(eq(OWNER_ID), any(), any())).thenReturn(List.of(element(1L, null, OWNER_ID)));
+
+    var index = new HierarchyIndex(elementRepository, admissionControl, QUERY_LIMITS_PROPERTIES, 10);
+
+    assertArrayEquals(new long[] {1L}, index.hierarchyFor(OWNER_ID).roots());
+    assertArrayEquals(new long[] {1L}, index.hierarchyFor(OWNER_ID).roots());
+    verify(elementRepository, times(1)).findByOwnerId(eq(OWNER_ID), any(), any());
+  }
+
+  @Test
+  void shouldApplyWriteToCachedHierarchy()
+  {
+    when(elementRepository.findByOwnerId(eq(OWNER_ID), any(), any())).thenReturn(List.of(element(1L, null, OWNER_ID)));
+
+    var index = new HierarchyIndex(elementRepository, admissionControl, QUERY_LIMITS_PROPERTIES, 10);
+    index.hierarchyFor(OWNER_ID);
+    index.saved(element(2L, 1L, OWNER_ID));
+
+    assertArrayEquals(new long[] {2L}, index.hierarchyFor(OWNER_ID).children(1L));
+    verify(elementRepository, times(1)).findByOwnerId(eq(OWNER_ID), any(), any());
+  }
+
+  @Test
+  void shouldNotCacheHierarchyWrittenDuringLoad() throws Exception
+  {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch written = new CountDownLatch(1);
+    when(elementRepository.findByOwnerId(eq(OWNER_ID), any(), any())).thenAnswer(
+      invocation ->
+      {
+        loading.countDown();
+        written.await(5, TimeUnit.SECONDS);
+        return List.of(element(1L, null, OWNER_ID));
+      }
+    );
+
+    var index = new HierarchyIndex(elementRepository, admissionControl, QUERY_LIMITS_PROPERTIES, 10);
+    var load = CompletableFuture.supplyAsync(() -> index.hierarchyFor(OWNER_ID));
+
+    loading.await(5, TimeUnit.SECONDS);
+    index.saved(element(2L, 1L, OWNER_ID));
+    written.countDown();
+
+    assertEquals(1, load.get(5, TimeUnit.SECONDS).size());
+
+    index.hierarchyFor(OWNER_ID);
+    verify(elementRepository, times(2)).findByOwnerId(eq(OWNER_ID), any(), any());
+  }
+
+  @Test
+  void shouldNotCacheEmptyHierarchy()
+  {
+    when(elementRepository.findByOwnerId(eq(OWNER_ID), any(), any())).thenReturn(List.of());
+
+    var index = new HierarchyIndex(elementRepository, admissionControl, QUERY_LIMITS_PROPERTIES, 10);
+
+    assertEquals(0, index.hierarchyFor(OWNER_ID).size());
+    assertEquals(0, index.hierarchyFor(OWNER_ID).size());
+    verify(elementRepository, times(2)).findByOwnerId(eq(OWNER_ID), any(), any());
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedOwnerOverMaxElements()
+  {
+    for (String ownerId : List.of(OWNER_ID, OTHER_OWNER_ID, THIRD_OWNER_ID))
+    {
+      when(elementRepository.findByOwnerId(eq(ownerId), any(), any())).thenReturn(List.of(element(1L, null, ownerId), element(2L, 1L, ownerId)));
+    }
+
+    var index = new HierarchyIndex(elementRepository, admissionControl, QUERY_LIMITS_PROPERTIES, 4);
+    index.hierarchyFor(OWNER_ID);
+    index.hierarchyFor(OTHER_OWNER_ID);
+    index.hierarchyFor(OWNER_ID);
+    index.hierarchyFor(THIRD_OWNER_ID);
+
+    index.hierarchyFor(OWNER_ID);
+    index.hierarchyFor(OTHER_OWNER_ID);
+
+    verify(elementRepository, times(1)).findByOwnerId(eq(OWNER_ID), any(), any());
+    verify(elementRepository, times(2)).findByOwnerId(eq(OTHER_OWNER_ID), any(), any());
+  }
+
+  private static Element element(long id, Long parentId, String ownerId)
+  {
+    return new Element(id, parentId, ownerId, "TEST", "E" + id, NOW);
+  }
+}
@@ -0,0 +1,149 @@
+package com.tn.element.hierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.tn.element.domain.Element;
+
+class OwnerHierarchyIntegrationTest
+{
+  private static final String OWNER_ID = "OWN1";
+  private static final LocalDateTime NOW = LocalDateTime.now();
+
+  private static final OwnerHierarchy HIERARCHY = OwnerHierarchy.of(
+    OWNER_ID,
+    List.of(
+      element(5L, 2L, "C3"),
+      element(1L, null, "Root"),
+      element(3L, 1L, "C2"),
+      element(2L, 1L, "C1"),
+      element(4L, 2L, "C4")
+    )
+  );
+
+  @Test
+  void shouldReturnRoots()
+  {
+    assertArrayEquals(new long[] {1L}, HIERARCHY.roots());
+  }
+
+  @Test
+  void shouldReturnChildren()
+  {
+    assertArrayEquals(new long[] {2L, 3L}, HIERARCHY.children(1L));
+    assertArrayEquals(new long[] {4L, 5L}, HIERARCHY.children(2L));
+    assertArrayEquals(new long[] {}, HIERARCHY.children(3L));
+  }
+
+  @Test
+  void shouldReturnSubtree()
+  {
+    assertArrayEquals(new long[] {1L, 2L, 4L, 5L, 3L}, HIERARCHY.subtree(1L));
+    assertArrayEquals(new long[] {2L, 4L, 5L}, HIERARCHY.subtree(2L));
+  }
+
+  @Test
+  void shouldReturnPath()
+  {
+    assertArrayEquals(new long[] {1L, 2L, 5L}, HIERARCHY.path(5L));
+    assertArrayEquals(new long[] {1L}, HIERARCHY.path(1L));
+  }
+
+  @Test
+  void shouldDecodeTypeAndName()
+  {
+    assertEquals("TEST", HIERARCHY.type(4L));
+    assertEquals("C4", HIERARCHY.name(4L));
+    assertEquals(OwnerHierarchy.NO_PARENT, HIERARCHY.parentId(1L));
+  }
+
+  @Test
+  void shouldAddElement()
+  {
+    var hierarchy = HIERARCHY.with(element(6L, 3L, "C5"));
+
+    assertEquals(6, hierarchy.size());
+    assertArrayEquals(new long[] {6L}, hierarchy.children(3L));
+    assertArrayEquals(new long[] {1L, 3L, 6L}, hierarchy.path(6L));
+    assertFalse(HIERARCHY.contains(6L));
+  }
+
+  @Test
+  void shouldMoveElement()
+  {
+    var hierarchy = HIERARCHY.with(element(2L, 3L, "Moved"));
+
+    assertEquals(5, hierarchy.size());
+    assertArrayEquals(new long[] {3L}, hierarchy.children(1L));
+    assertArrayEquals(new long[] {2L}, hierarchy.children(3L));
+    assertEquals("Moved", hierarchy.name(2L));
+    assertEquals("C1", HIERARCHY.name(2L));
+  }
+
+  @Test
+  void shouldRemoveElement()
+  {
+    var hierarchy = HIERARCHY.without(5L);
+
+    assertEquals(4, hierarchy.size());
+    assertArrayEquals(new long[] {4L}, hierarchy.children(2L));
+    assertTrue(HIERARCHY.contains(5L));
+  }
+
+  @Test
+  void shouldReturnPathAndSubtreeDeeperThanInitialBuffers()
+  {
+    List<Element> chain = new ArrayList<>();
+    chain.add(element(1L, null, "Root"));
+    for (long id = 2; id <= 100; id++) chain.add(element(id, id - 1, "C" + id));
+
+    var hierarchy = OwnerHierarchy.of(OWNER_ID, chain);
+
+    assertEquals(100, hierarchy.path(100L).length);
+    assertEquals(1L, hierarchy.path(100L)[0]);
+    assertEquals(100, hierarchy.subtree(1L).length);
+    assertArrayEquals(new long[] {1L}, hierarchy.roots());
+  }
+
+  @Test
+  void shouldReturnSubtreeWiderThanInitialBuffers()
+  {
+    List<Element> fan = new ArrayList<>();
+    fan.add(element(1L, null, "Root"));
+    for (long id = 2; id <= 100; id++) fan.add(element(id, 1L, "C" + id));
+
+    var hierarchy = OwnerHierarchy.of(OWNER_ID, fan);
+
+    assertEquals(100, hierarchy.subtree(1L).length);
+    assertArrayEquals(new long[] {50L}, hierarchy.subtree(50L));
+  }
+
+  @Test
+  void shouldStopAtCycle()
+  {
+    var hierarchy = OwnerHierarchy.of(OWNER_ID, List.of(element(1L, 2L, "A"), element(2L, 1L, "B")));
+
+    assertEquals(2, hierarchy.path(1L).length);
+    assertEquals(2, hierarchy.subtree(1L).length);
+  }
+
+  @Test
+  void shouldThrowForUnknownElement()
+  {
+    assertThrows(IllegalArgumentException.class, () -> HIERARCHY.children(100L));
+  }
+
+  private static Element element(long id, Long parentId, String name)
+  {
+    return new Element(id, parentId, OWNER_ID, "TEST", name, NOW);
+  }
+}
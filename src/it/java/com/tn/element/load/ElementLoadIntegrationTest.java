@@ -0,0 +1,267 @@
+package com.tn.element.load;
+
+import static java.util.Comparator.comparing;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpMethod.DELETE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpMethod.PUT;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+import com.tn.element.api.ElementController.ElementRequest;
+import com.tn.element.domain.Element;
+import com.tn.element.load.LoadTestSettings.Operation;
+import com.tn.element.repository.ElementRepository;
+
+/**
+ * Seeds element trees and drives an open-loop mix of reads, scans and writes against the running service, writing
+ * throughput and latency percentiles to a JSON report.  Enabled by the <code>load-test</code> Maven profile.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class ElementLoadIntegrationTest
+{
+  private static final String TYPE = "LOAD";
+  private static final String OWNER_PREFIX = "LOAD";
+
+  @Autowired
+  ElementRepository elementRepository;
+
+  @Autowired
+  TestRestTemplate testRestTemplate;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+  private final List<Element> seeded = new ArrayList<>();
+  private final ConcurrentLinkedDeque<Element> created = new ConcurrentLinkedDeque<>();
+  private final AtomicLong nameSequence = new AtomicLong();
+
+  @BeforeEach
+  void seed()
+  {
+    for (int owner = 0; owner < settings.owners(); owner++)
+    {
+      String ownerId = OWNER_PREFIX + owner;
+
+      List<Element> level = List.of(elementRepository.save(new Element(ownerId, TYPE, "R")));
+      seeded.addAll(level);
+
+      for (int depth = 1; depth <= settings.depth(); depth++)
+      {
+        List<Element> children = new ArrayList<>(level.size() * settings.fanOut());
+        for (Element parent : level)
+        {
+          for (int child = 0; child < settings.fanOut(); child++) children.add(new Element(parent.id(), ownerId, TYPE, "E" + depth + "-" + child));
+        }
+
+        level = new ArrayList<>();
+        elementRepository.saveAll(children).forEach(level::add);
+        seeded.addAll(level);
+      }
+    }
+
+    log.info("Seeded {} elements for {} owners", seeded.size(), settings.owners());
+  }
+
+  @AfterEach
+  void deleteElements()
+  {
+    // Children always have higher ids than their parents, so deleting in descending id order satisfies the foreign key.
+    elementRepository.deleteAll(
+      StreamSupport.stream(elementRepository.findAll().spliterator(), false)
+        .filter(element -> element.ownerId().startsWith(OWNER_PREFIX))
+        .sorted(comparing(Element::id).reversed())
+        .toList()
+    );
+  }
+
+  @Test
+  void shouldMeetLatencyTargets() throws Exception
+  {
+    int warmUpOperations = settings.rate() * settings.warmUpSeconds();
+    int totalOperations = warmUpOperations + settings.rate() * settings.durationSeconds();
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+
+    LatencyRecorder recorder = new LatencyRecorder(totalOperations - warmUpOperations);
+    AtomicInteger completed = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+
+    long start = System.nanoTime();
+    for (int i = 0; i < totalOperations; i++)
+    {
+      long scheduled = start + i * intervalNanos;
+      long delay = scheduled - System.nanoTime();
+      if (delay > 0) LockSupport.parkNanos(delay);
+
+      boolean measured = i >= warmUpOperations;
+      Operation operation = nextOperation();
+
+      executor.execute(
+        () ->
+        {
+          boolean error;
+          try
+          {
+            error = !execute(operation);
+          }
+          catch (RuntimeException e)
+          {
+            error = true;
+          }
+
+          if (measured) recorder.record(operation, System.nanoTime() - scheduled, error);
+          completed.incrementAndGet();
+        }
+      );
+    }
+
+    executor.shutdown();
+    boolean drained = executor.awaitTermination(settings.drainSeconds(), TimeUnit.SECONDS);
+    if (!drained) executor.shutdownNow();
+
+    long elapsed = System.nanoTime() - (start + warmUpOperations * intervalNanos);
+    Map<String, Object> summary = recorder.summary(elapsed);
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("settings", settings);
+    report.put("seededElements", seeded.size());
+    report.put("incompleteOperations", totalOperations - completed.get());
+    report.putAll(summary);
+
+    Files.createDirectories(settings.report().toAbsolutePath().getParent());
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(settings.report().toFile(), report);
+    log.info("Load test report written to {}: {}", settings.report(), objectMapper.writeValueAsString(summary.get("overall")));
+
+    assertTrue(drained, (totalOperations - completed.get()) + " operations did not complete within " + settings.drainSeconds() + "s");
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> overall = (Map<String, Object>)summary.get("overall");
+
+    if (settings.maxP99Millis() != null)
+    {
+      assertTrue((double)overall.get("p99Millis") <= settings.maxP99Millis(), "p99 latency exceeded " + settings.maxP99Millis() + "ms");
+    }
+    if (settings.maxErrorRate() != null)
+    {
+      assertTrue((double)overall.get("errorRate") <= settings.maxErrorRate(), "Error rate exceeded " + settings.maxErrorRate());
+    }
+  }
+
+  private Operation nextOperation()
+  {
+    int total = settings.weights().values().stream().mapToInt(Integer::intValue).sum();
+    int selected = ThreadLocalRandom.current().nextInt(total);
+
+    for (Operation operation : Operation.values())
+    {
+      selected -= settings.weights().get(operation);
+      if (selected < 0) return operation;
+    }
+
+    return Operation.READ;
+  }
+
+  private boolean execute(Operation operation)
+  {
+    return switch (operation)
+    {
+      case READ -> read();
+      case SCAN -> scan();
+      case CREATE -> create();
+      case UPDATE -> update();
+      case DELETE -> delete();
+    };
+  }
+
+  private boolean read()
+  {
+    return testRestTemplate.exchange("/v1/{id}", GET, null, Element.class, randomSeeded().id()).getStatusCode().is2xxSuccessful();
+  }
+
+  private boolean scan()
+  {
+    Element element = randomSeeded();
+    String query = ThreadLocalRandom.current().nextBoolean() ? "parentId=" + element.id() : "ownerId=" + element.ownerId();
+
+    return testRestTemplate.exchange("/v1?q={query}", GET, null, String.class, query).getStatusCode().is2xxSuccessful();
+  }
+
+  private boolean create()
+  {
+    Element parent = randomSeeded();
+    ResponseEntity<Element> response = testRestTemplate.exchange(
+      "/v1",
+      POST,
+      new HttpEntity<>(new ElementRequest(parent.id(), parent.ownerId(), TYPE, "C" + nameSequence.incrementAndGet())),
+      Element.class
+    );
+
+    if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) created.offer(response.getBody());
+
+    return response.getStatusCode().is2xxSuccessful();
+  }
+
+  private boolean update()
+  {
+    Element element = created.poll();
+    if (element == null) return read();
+
+    try
+    {
+      return testRestTemplate.exchange(
+        "/v1/{id}",
+        PUT,
+        new HttpEntity<>(new ElementRequest(element.parentId(), element.ownerId(), TYPE, "U" + nameSequence.incrementAndGet())),
+        Element.class,
+        element.id()
+      ).getStatusCode().is2xxSuccessful();
+    }
+    finally
+    {
+      created.offer(element);
+    }
+  }
+
+  private boolean delete()
+  {
+    Element element = created.poll();
+    if (element == null) return read();
+
+    return testRestTemplate.exchange("/v1/{id}", DELETE, null, Void.class, element.id()).getStatusCode().is2xxSuccessful();
+  }
+
+  private Element randomSeeded()
+  {
+    return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+  }
+}
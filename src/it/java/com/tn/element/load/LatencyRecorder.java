@@ -0,0 +1,89 @@
+package com.tn.element.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tn.element.load.LoadTestSettings.Operation;
+
+/**
+ * Records the latency of each operation, measured from its scheduled start so queueing delay is not hidden, into
+ * preallocated arrays.
+ */
+class LatencyRecorder
+{
+  private final long[] latencies;
+  private final Operation[] operations;
+  private final boolean[] errors;
+  private final AtomicInteger count = new AtomicInteger();
+
+  LatencyRecorder(int capacity)
+  {
+    this.latencies = new long[capacity];
+    this.operations = new Operation[capacity];
+    this.errors = new boolean[capacity];
+  }
+
+  void record(Operation operation, long latencyNanos, boolean error)
+  {
+    int index = count.getAndIncrement();
+    if (index >= latencies.length) return;
+
+    latencies[index] = latencyNanos;
+    operations[index] = operation;
+    errors[index] = error;
+  }
+
+  Map<String, Object> summary(long elapsedNanos)
+  {
+    int size = Math.min(count.get(), latencies.length);
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("overall", stats(null, size, elapsedNanos));
+
+    Map<String, Object> byOperation = new LinkedHashMap<>();
+    for (Operation operation : Operation.values()) byOperation.put(operation.name().toLowerCase(), stats(operation, size, elapsedNanos));
+    summary.put("operations", byOperation);
+
+    return summary;
+  }
+
+  private Map<String, Object> stats(Operation operation, int size, long elapsedNanos)
+  {
+    long[] selected = new long[size];
+    int selectedCount = 0;
+    int errorCount = 0;
+
+    for (int i = 0; i < size; i++)
+    {
+      if (operation != null && operations[i] != operation) continue;
+
+      selected[selectedCount++] = latencies[i];
+      if (errors[i]) errorCount++;
+    }
+
+    selected = Arrays.copyOf(selected, selectedCount);
+    Arrays.sort(selected);
+
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("count", selectedCount);
+    stats.put("errors", errorCount);
+    stats.put("errorRate", selectedCount == 0 ? 0.0 : (double)errorCount / selectedCount);
+    stats.put("throughputPerSecond", selectedCount / (elapsedNanos / 1e9));
+    stats.put("p50Millis", percentileMillis(selected, 0.50));
+    stats.put("p99Millis", percentileMillis(selected, 0.99));
+    stats.put("p999Millis", percentileMillis(selected, 0.999));
+    stats.put("maxMillis", selectedCount == 0 ? 0.0 : selected[selectedCount - 1] / 1e6);
+
+    return stats;
+  }
+
+  private static double percentileMillis(long[] sorted, double percentile)
+  {
+    if (sorted.length == 0) return 0.0;
+
+    int index = (int)Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1e6;
+  }
+}
@@ -0,0 +1,69 @@
+package com.tn.element.load;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+record LoadTestSettings(
+  int owners,
+  int fanOut,
+  int depth,
+  int rate,
+  int durationSeconds,
+  int warmUpSeconds,
+  int concurrency,
+  int drainSeconds,
+  Map<Operation, Integer> weights,
+  Path report,
+  Double maxP99Millis,
+  Double maxErrorRate
+)
+{
+  static LoadTestSettings fromSystemProperties()
+  {
+    int durationSeconds = intProperty("duration-seconds", 30);
+    int warmUpSeconds = intProperty("warm-up-seconds", 5);
+
+    return new LoadTestSettings(
+      intProperty("owners", 10),
+      intProperty("fan-out", 5),
+      intProperty("depth", 3),
+      intProperty("rate", 200),
+      durationSeconds,
+      warmUpSeconds,
+      intProperty("concurrency", 32),
+      // By default an overloaded run may take as long again as the run itself to drain before it is cut off.
+      intProperty("drain-seconds", warmUpSeconds + durationSeconds),
+      Map.of(
+        Operation.READ, intProperty("weight.read", 70),
+        Operation.SCAN, intProperty("weight.scan", 15),
+        Operation.CREATE, intProperty("weight.create", 5),
+        Operation.UPDATE, intProperty("weight.update", 5),
+        Operation.DELETE, intProperty("weight.delete", 5)
+      ),
+      Path.of(System.getProperty("load-test.report", "target/load-test/report.json")),
+      doubleProperty("max-p99-millis"),
+      doubleProperty("max-error-rate")
+    );
+  }
+
+  private static int intProperty(String name, int defaultValue)
+  {
+    String value = System.getProperty("load-test." + name);
+    return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value);
+  }
+
+  private static Double doubleProperty(String name)
+  {
+    String value = System.getProperty("load-test." + name);
+    return value == null || value.isBlank() ? null : Double.valueOf(value);
+  }
+
+  enum Operation
+  {
+    READ,
+    SCAN,
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+}
@@ -0,0 +1,81 @@
+package com.tn.element.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static com.tn.element.repository.QueryLimitExceededException.Limit.STATEMENT_TIMEOUT;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.tn.element.domain.Element;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ElementRepositoryGuardrailIntegrationTest
+{
+  private static final long QUERY_DELAY_MILLIS = 3_000;
+
+  @Autowired
+  ElementRepository elementRepository;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  private Element element;
+
+  @BeforeEach
+  void slowDownQueries()
+  {
+    element = elementRepository.save(new Element("GUARD1", "TEST", "Slow"));
+
+    SlowSelectTrigger.delayMillis = QUERY_DELAY_MILLIS;
+    jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS slow_select BEFORE SELECT ON elements CALL \"" + SlowSelectTrigger.class.getName() + "\"");
+  }
+
+  @AfterEach
+  void restoreQueries()
+  {
+    jdbcTemplate.execute("DROP TRIGGER IF EXISTS slow_select");
+    SlowSelectTrigger.delayMillis = 0;
+
+    elementRepository.deleteById(element.id());
+  }
+
+  @Test
+  void shouldThrowWhenStatementTimeoutExceeded()
+  {
+    var e = assertThrows(
+      QueryLimitExceededException.class,
+      () -> elementRepository.findWhere("name = Slow", new QueryLimits(10, Duration.ofSeconds(1)), new QueryCancellation())
+    );
+
+    assertEquals(STATEMENT_TIMEOUT, e.limit());
+  }
+
+  @Test
+  void shouldCancelInFlightStatement() throws Exception
+  {
+    var cancellation = new QueryCancellation();
+    var query = CompletableFuture.supplyAsync(
+      () -> elementRepository.findWhere("name = Slow", new QueryLimits(10, Duration.ofSeconds(30)), cancellation)
+    );
+
+    Thread.sleep(QUERY_DELAY_MILLIS / 3);
+    cancellation.cancel();
+
+    var e = assertThrows(ExecutionException.class, () -> query.get(QUERY_DELAY_MILLIS * 2, TimeUnit.MILLISECONDS));
+    assertTrue(cancellation.isCancelled());
+    assertInstanceOf(QueryCancelledException.class, e.getCause());
+  }
+}
@@ -8,8 +8,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.AfterEach;
@@ -133,6 +138,50 @@ class ElementRepositoryIntegrationTest
       assertWhere("parentId = " + root.id(), child1, child2);
     }
 
+    @Test
+    void shouldFindWhereWithinLimits()
+    {
+      var elements = elementRepository.findWhere("parentId = " + root.id(), new QueryLimits(2, Duration.ofSeconds(5)), new QueryCancellation());
+      assertEquals(Set.of(child1, child2), Set.copyOf(elements));
+    }
+
+    @Test
+    void shouldThrowWhenMaxResultsExceeded()
+    {
+      var e = assertThrows(
+        QueryLimitExceededException.class,
+        () -> elementRepository.findWhere("parentId = " + root.id(), new QueryLimits(1, Duration.ofSeconds(5)), new QueryCancellation())
+      );
+      assertEquals(QueryLimitExceededException.Limit.MAX_RESULTS, e.limit());
+    }
+
+    @Test
+    void shouldThrowWhenAllExceedsMaxResults()
+    {
+      assertThrows(QueryLimitExceededException.class, () -> elementRepository.findAll(new QueryLimits(3, Duration.ofSeconds(5)), new QueryCancellation()));
+    }
+
+    @Test
+    void shouldFindWhereConcurrently() throws Exception
+    {
+      var limits = new QueryLimits(10, Duration.ofSeconds(5));
+      var expected = List.of(root, child1, child2);
+      var executor = Executors.newFixedThreadPool(16);
+      try
+      {
+        List<Future<Boolean>> results = IntStream.range(0, 300)
+          .mapToObj(i -> expected.get(i % expected.size()))
+          .map(element -> executor.submit(() -> elementRepository.findWhere("name = " + element.name(), limits, new QueryCancellation()).equals(List.of(element))))
+          .toList();
+
+        for (Future<Boolean> result : results) assertTrue(result.get(10, TimeUnit.SECONDS));
+      }
+      finally
+      {
+        executor.shutdownNow();
+      }
+    }
+
     private void assertWhere(String query, Element... expected)
     {
       var elements = StreamSupport.stream(elementRepository.findWhere(query).spliterator(), false).collect(toSet());
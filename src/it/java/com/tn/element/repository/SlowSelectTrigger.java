@@ -0,0 +1,35 @@
+package com.tn.element.repository;
+
+import java.sql.Connection;
+
+import org.h2.api.Trigger;
+
+/**
+ * An H2 <code>BEFORE SELECT</code> trigger that delays every query on the table it is attached to.
+ */
+public class SlowSelectTrigger implements Trigger
+{
+  public static volatile long delayMillis;
+
+  @Override
+  public void init(Connection connection, String schemaName, String triggerName, String tableName, boolean before, int type) {}
+
+  @Override
+  public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws java.sql.SQLException
+  {
+    try
+    {
+      Thread.sleep(delayMillis);
+    }
+    catch (InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  public void remove() {}
+}
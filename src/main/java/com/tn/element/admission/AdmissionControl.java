@@ -0,0 +1,128 @@
+package com.tn.element.admission;
+
+import static com.tn.element.admission.AdmissionRejectedException.Reason.QUEUE_FULL;
+import static com.tn.element.admission.AdmissionRejectedException.Reason.TIMED_OUT;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits the number of concurrent requests per {@link RequestCost}, queueing a bounded number of callers for a bounded time
+ * and rejecting the rest so cheap requests are not stuck behind expensive ones.
+ */
+public class AdmissionControl
+{
+  private final Map<RequestCost, Lane> lanes = new EnumMap<>(RequestCost.class);
+  private final Duration retryAfter;
+
+  public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry)
+  {
+    for (RequestCost cost : RequestCost.values()) lanes.put(cost, new Lane(cost, properties.limitsFor(cost), meterRegistry));
+    this.retryAfter = properties.retryAfter();
+  }
+
+  public Permit admit(RequestCost cost)
+  {
+    return lanes.get(cost).admit();
+  }
+
+  public interface Permit extends AutoCloseable
+  {
+    @Override
+    void close();
+  }
+
+  private class Lane
+  {
+    private final RequestCost cost;
+    private final AdmissionProperties.Limits limits;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter queueFullRejections;
+    private final Counter timedOutRejections;
+
+    Lane(RequestCost cost, AdmissionProperties.Limits limits, MeterRegistry meterRegistry)
+    {
+      this.cost = cost;
+      this.limits = limits;
+      this.permits = new Semaphore(limits.maxConcurrent(), true);
+
+      String tag = cost.name().toLowerCase();
+
+      Gauge.builder("element.admission.queued", queued, AtomicInteger::get).tag("cost", tag).register(meterRegistry);
+      Gauge.builder("element.admission.active", permits, semaphore -> limits.maxConcurrent() - semaphore.availablePermits())
+        .tag("cost", tag)
+        .register(meterRegistry);
+
+      this.queueFullRejections = rejections(meterRegistry, tag, "queue_full");
+      this.timedOutRejections = rejections(meterRegistry, tag, "timed_out");
+    }
+
+    Permit admit()
+    {
+      try
+      {
+        // Unlike tryAcquire(), a timed acquire honours the semaphore's fairness, so an arrival cannot overtake queued callers.
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) return permit();
+      }
+      catch (InterruptedException e)
+      {
+        throw interrupted();
+      }
+
+      if (queued.incrementAndGet() > limits.maxQueued())
+      {
+        queued.decrementAndGet();
+        queueFullRejections.increment();
+        throw new AdmissionRejectedException(cost, QUEUE_FULL, retryAfter);
+      }
+
+      try
+      {
+        if (permits.tryAcquire(limits.maxWait().toNanos(), TimeUnit.NANOSECONDS)) return permit();
+
+        timedOutRejections.increment();
+        throw new AdmissionRejectedException(cost, TIMED_OUT, retryAfter);
+      }
+      catch (InterruptedException e)
+      {
+        throw interrupted();
+      }
+      finally
+      {
+        queued.decrementAndGet();
+      }
+    }
+
+    private AdmissionRejectedException interrupted()
+    {
+      Thread.currentThread().interrupt();
+      timedOutRejections.increment();
+
+      return new AdmissionRejectedException(cost, TIMED_OUT, retryAfter);
+    }
+
+    private Permit permit()
+    {
+      AtomicBoolean released = new AtomicBoolean();
+      return () ->
+      {
+        if (released.compareAndSet(false, true)) permits.release();
+      };
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String cost, String reason)
+    {
+      return Counter.builder("element.admission.rejected").tag("cost", cost).tag("reason", reason).register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.tn.element.admission;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("element.admission")
+public record AdmissionProperties(Limits pointRead, Limits filteredScan, Limits fullScan, Limits write, Duration retryAfter)
+{
+  public Limits limitsFor(RequestCost cost)
+  {
+    return switch (cost)
+    {
+      case POINT_READ -> pointRead;
+      case FILTERED_SCAN -> filteredScan;
+      case FULL_SCAN -> fullScan;
+      case WRITE -> write;
+    };
+  }
+
+  public record Limits(int maxConcurrent, int maxQueued, Duration maxWait) {}
+}
@@ -0,0 +1,37 @@
+package com.tn.element.admission;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Accessors(fluent = true)
+public class AdmissionRejectedException extends RuntimeException
+{
+  private final RequestCost cost;
+  private final Reason reason;
+  private final Duration retryAfter;
+
+  public AdmissionRejectedException(RequestCost cost, Reason reason, Duration retryAfter)
+  {
+    super(reason.message + ": " + cost);
+
+    this.cost = cost;
+    this.reason = reason;
+    this.retryAfter = retryAfter;
+  }
+
+  public enum Reason
+  {
+    QUEUE_FULL("Too many queued requests"),
+    TIMED_OUT("Timed out waiting for admission");
+
+    private final String message;
+
+    Reason(String message)
+    {
+      this.message = message;
+    }
+  }
+}
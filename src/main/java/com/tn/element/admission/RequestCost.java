@@ -0,0 +1,9 @@
+package com.tn.element.admission;
+
+public enum RequestCost
+{
+  POINT_READ,
+  FILTERED_SCAN,
+  FULL_SCAN,
+  WRITE
+}
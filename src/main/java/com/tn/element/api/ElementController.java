@@ -2,14 +2,30 @@ package com.tn.element.api;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
 
+import static com.tn.element.admission.RequestCost.FILTERED_SCAN;
+import static com.tn.element.admission.RequestCost.FULL_SCAN;
+import static com.tn.element.admission.RequestCost.POINT_READ;
+import static com.tn.element.admission.RequestCost.WRITE;
+import static com.tn.element.repository.QueryLimitExceededException.Limit.STATEMENT_TIMEOUT;
 import static com.tn.lang.Strings.isNullOrWhitespace;
 
-import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
 import jakarta.validation.constraints.NotNull;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
@@ -24,10 +40,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.tn.element.admission.AdmissionControl;
 import com.tn.element.domain.Element;
+import com.tn.element.hierarchy.HierarchyIndex;
 import com.tn.element.repository.ElementRepository;
+import com.tn.element.repository.QueryCancellation;
+import com.tn.element.repository.QueryLimitExceededException;
+import com.tn.element.repository.QueryLimits;
+import com.tn.element.repository.QueryLimitsProperties;
 import com.tn.query.QueryParseException;
 import com.tn.service.IllegalParameterException;
 import com.tn.service.query.QueryBuilder;
@@ -40,50 +64,110 @@ public class ElementController
 {
   private static final QueryBuilder QUERY_BUILDER = new QueryBuilder(Element.class);
 
+  private static final Duration ASYNC_TIMEOUT_GRACE = Duration.ofSeconds(1);
+
+  private static final byte[] ARRAY_START = {'['};
+  private static final byte[] ARRAY_SEPARATOR = {','};
+  private static final byte[] ARRAY_END = {']'};
+
   private final ElementRepository elementRepository;
+  private final ElementUpdater elementUpdater;
+  private final ElementJsonCache elementJsonCache;
+  private final AdmissionControl admissionControl;
+  @Qualifier("scanTaskExecutor")
+  private final AsyncTaskExecutor scanTaskExecutor;
+  private final QueryLimitsProperties queryLimitsProperties;
+  private final ObjectProvider<HierarchyIndex> hierarchyIndex;
 
   @GetMapping("/{id}")
-  public Element elementForId(@PathVariable("id") long id)
+  public ResponseEntity<byte[]> elementForId(@PathVariable("id") long id)
   {
-    return elementRepository.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Element not found for id: " + id));
+    try (var permit = admissionControl.admit(POINT_READ))
+    {
+      var element = elementRepository.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Element not found for id: " + id));
+
+      return ResponseEntity.ok().contentType(APPLICATION_JSON).body(elementJsonCache.bytesFor(element));
+    }
   }
 
   @GetMapping
-  public Iterable<Element> elementsFor(@RequestParam(required = false) MultiValueMap<String, String> params)
+  public DeferredResult<ResponseEntity<StreamingResponseBody>> elementsFor(@RequestParam(required = false) MultiValueMap<String, String> params)
   {
+    String query = query(params);
+    boolean fullScan = isNullOrWhitespace(query);
+    QueryLimits limits = fullScan ? queryLimitsProperties.fullScan() : queryLimitsProperties.filteredScan();
+    QueryCancellation cancellation = new QueryCancellation();
+
+    var permit = admissionControl.admit(fullScan ? FULL_SCAN : FILTERED_SCAN);
+
+    // The timeout and error callbacks only cancel the statement.  The permit is released by the scan itself, once its
+    // thread is free, so a statement that ignores cancellation keeps its permit rather than making way for another scan.
+    long timeoutMillis = limits.statementTimeout().plus(ASYNC_TIMEOUT_GRACE).toMillis();
+    DeferredResult<ResponseEntity<StreamingResponseBody>> result = new DeferredResult<>(timeoutMillis);
+    result.onTimeout(
+      () ->
+      {
+        cancellation.cancel();
+        result.setErrorResult(
+          new QueryLimitExceededException(STATEMENT_TIMEOUT, "Query did not finish within the statement timeout of " + limits.statementTimeout().toMillis() + "ms", null)
+        );
+      }
+    );
+    result.onError(e -> cancellation.cancel());
+
     try
     {
-      String query = QUERY_BUILDER.build(params);
-
-      return isNullOrWhitespace(query) ? elementRepository.findAll() : elementRepository.findWhere(query);
+      scanTaskExecutor.execute(() -> scan(fullScan ? null : query, limits, cancellation, permit, result));
     }
-    catch (IllegalParameterException | QueryParseException e)
+    catch (TaskRejectedException e)
     {
-      throw new ResponseStatusException(BAD_REQUEST, e.getMessage(), e);
+      permit.close();
+      throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Scan could not be started", e);
     }
+
+    return result;
   }
 
   @PostMapping  
   public Element create(@Validated @RequestBody ElementRequest request)
   {
-    return elementRepository.save(new Element(request.parentId, request.ownerId, request.type, request.name));
+    try (var permit = admissionControl.admit(WRITE))
+    {
+      var element = elementRepository.save(new Element(request.parentId, request.ownerId, request.type, request.name));
+      hierarchyIndex.ifAvailable(index -> index.saved(element));
+
+      return element;
+    }
   }
 
   
   @PutMapping("/{id}")
-  @Transactional
   public Element update(@PathVariable("id") long id, @Validated @RequestBody ElementRequest request)
   {
-    var existingElement = elementRepository.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Element not found with ID: " + id));
-    if (!existingElement.ownerId().equals(request.ownerId)) throw new ResponseStatusException(BAD_REQUEST, "Owner IDs don't match");
-    
-    return elementRepository.save(new Element(id, request.parentId, request.ownerId, request.type, request.name, existingElement.created()));
+    try (var permit = admissionControl.admit(WRITE))
+    {
+      var element = elementUpdater.update(id, request);
+      elementJsonCache.invalidate(id);
+      hierarchyIndex.ifAvailable(index -> index.saved(element));
+
+      return element;
+    }
   }
 
   @DeleteMapping("/{id}")
   public void delete(@PathVariable("id") long id)
   {
-    elementRepository.deleteById(id);
+    try (var permit = admissionControl.admit(WRITE))
+    {
+      // The index tracks writes per owner, so it needs the deleted element rather than just its id.
+      HierarchyIndex index = hierarchyIndex.getIfAvailable();
+      Optional<Element> deleted = index != null ? elementRepository.findById(id) : Optional.empty();
+
+      // Invalidated once the delete has committed so a concurrent read cannot put the element back.
+      elementRepository.deleteById(id);
+      elementJsonCache.invalidate(id);
+      if (index != null) deleted.ifPresent(index::deleted);
+    }
   }
 
   @ExceptionHandler(DataIntegrityViolationException.class)
@@ -92,6 +176,75 @@ public class ElementController
     return ResponseEntity.badRequest().body(new ErrorResponse(e.getMostSpecificCause().getMessage()));
   }
 
+  private String query(MultiValueMap<String, String> params)
+  {
+    try
+    {
+      return QUERY_BUILDER.build(params);
+    }
+    catch (IllegalParameterException | QueryParseException e)
+    {
+      throw new ResponseStatusException(BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  private void scan(
+    String query,
+    QueryLimits limits,
+    QueryCancellation cancellation,
+    AdmissionControl.Permit permit,
+    DeferredResult<ResponseEntity<StreamingResponseBody>> result
+  )
+  {
+    // Once the response is accepted the permit is held until it has been streamed, as that is when the result set is released.
+    boolean streaming = false;
+    try
+    {
+      List<Element> elements = query == null ? elementRepository.findAll(limits, cancellation) : elementRepository.findWhere(query, limits, cancellation);
+      streaming = result.setResult(elementsResponse(elements, permit));
+    }
+    catch (QueryParseException e)
+    {
+      result.setErrorResult(new ResponseStatusException(BAD_REQUEST, e.getMessage(), e));
+    }
+    catch (RuntimeException e)
+    {
+      result.setErrorResult(e);
+    }
+    finally
+    {
+      if (!streaming) permit.close();
+    }
+  }
+
+  private ResponseEntity<StreamingResponseBody> elementsResponse(Iterable<Element> elements, AdmissionControl.Permit permit)
+  {
+    return ResponseEntity.ok().contentType(APPLICATION_JSON).body(
+      outputStream ->
+      {
+        try (permit)
+        {
+          write(elements, outputStream);
+        }
+      }
+    );
+  }
+
+  private void write(Iterable<Element> elements, OutputStream outputStream) throws IOException
+  {
+    outputStream.write(ARRAY_START);
+
+    boolean first = true;
+    for (Element element : elements)
+    {
+      if (!first) outputStream.write(ARRAY_SEPARATOR);
+      outputStream.write(elementJsonCache.bytesForScan(element));
+      first = false;
+    }
+
+    outputStream.write(ARRAY_END);
+  }
+
   public record ElementRequest(
     Long parentId,
     @NotNull(message = "ownerId required")
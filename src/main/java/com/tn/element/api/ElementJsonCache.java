@@ -0,0 +1,120 @@
+package com.tn.element.api;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.tn.element.domain.Element;
+
+/**
+ * Holds the encoded JSON of each element keyed by its id and <code>updated</code> timestamp so repeated reads skip Jackson.
+ * Only point reads add entries, so a scan cannot displace them, and reads take no lock.  Once the cache is full entries
+ * are evicted in clock order: an entry read since the hand last passed it is skipped once.
+ */
+public class ElementJsonCache
+{
+  private final ObjectMapper objectMapper;
+  private final int maxEntries;
+  private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+  private final Lock evictionLock = new ReentrantLock();
+  private Iterator<Map.Entry<Long, Entry>> hand;
+
+  public ElementJsonCache(ObjectMapper objectMapper, int maxEntries)
+  {
+    this.objectMapper = objectMapper;
+    this.maxEntries = maxEntries;
+  }
+
+  byte[] bytesFor(Element element)
+  {
+    if (element.id() == null) return serialize(element);
+
+    Entry entry = entries.get(element.id());
+    if (entry != null && Objects.equals(entry.updated, element.updated()))
+    {
+      if (!entry.referenced) entry.referenced = true;
+      return entry.bytes;
+    }
+
+    byte[] bytes = serialize(element);
+    entries.put(element.id(), new Entry(element.updated(), bytes));
+    if (entries.size() > maxEntries) evict();
+
+    return bytes;
+  }
+
+  /**
+   * Returns the cached bytes for a scanned element if present, otherwise serializes it without adding it to the cache.
+   */
+  byte[] bytesForScan(Element element)
+  {
+    Entry entry = element.id() != null ? entries.get(element.id()) : null;
+
+    return entry != null && Objects.equals(entry.updated, element.updated()) ? entry.bytes : serialize(element);
+  }
+
+  void invalidate(long id)
+  {
+    entries.remove(id);
+  }
+
+  int size()
+  {
+    return entries.size();
+  }
+
+  private void evict()
+  {
+    // One thread evicts at a time; others carry on, so the cache may briefly hold a few entries more than the maximum.
+    if (!evictionLock.tryLock()) return;
+    try
+    {
+      while (entries.size() > maxEntries)
+      {
+        if (hand == null || !hand.hasNext()) hand = entries.entrySet().iterator();
+        if (!hand.hasNext()) return;
+
+        Map.Entry<Long, Entry> candidate = hand.next();
+        if (candidate.getValue().referenced) candidate.getValue().referenced = false;
+        else entries.remove(candidate.getKey(), candidate.getValue());
+      }
+    }
+    finally
+    {
+      evictionLock.unlock();
+    }
+  }
+
+  private byte[] serialize(Element element)
+  {
+    try
+    {
+      return objectMapper.writeValueAsBytes(element);
+    }
+    catch (JsonProcessingException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static class Entry
+  {
+    private final LocalDateTime updated;
+    private final byte[] bytes;
+    private volatile boolean referenced;
+
+    Entry(LocalDateTime updated, byte[] bytes)
+    {
+      this.updated = updated;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.tn.element.api;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("element.json-cache")
+public record ElementJsonCacheProperties(int maxEntries) {}
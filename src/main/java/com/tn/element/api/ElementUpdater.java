@@ -0,0 +1,34 @@
+package com.tn.element.api;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import jakarta.transaction.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.tn.element.api.ElementController.ElementRequest;
+import com.tn.element.domain.Element;
+import com.tn.element.repository.ElementRepository;
+
+/**
+ * Holds the transactional part of an update so {@link ElementController} can take its admission permit before the
+ * transaction, and its pool connection, is started and keep it until the commit has finished.
+ */
+@Component
+@RequiredArgsConstructor
+class ElementUpdater
+{
+  private final ElementRepository elementRepository;
+
+  @Transactional
+  Element update(long id, ElementRequest request)
+  {
+    var existingElement = elementRepository.findById(id).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Element not found with ID: " + id));
+    if (!existingElement.ownerId().equals(request.ownerId())) throw new ResponseStatusException(BAD_REQUEST, "Owner IDs don't match");
+
+    return elementRepository.save(new Element(id, request.parentId(), request.ownerId(), request.type(), request.name(), existingElement.created()));
+  }
+}
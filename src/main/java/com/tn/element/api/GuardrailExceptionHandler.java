@@ -0,0 +1,38 @@
+package com.tn.element.api;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+import static com.tn.element.admission.AdmissionRejectedException.Reason.QUEUE_FULL;
+import static com.tn.element.repository.QueryLimitExceededException.Limit.MAX_RESULTS;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.tn.element.admission.AdmissionRejectedException;
+import com.tn.element.api.ElementController.ErrorResponse;
+import com.tn.element.repository.QueryLimitExceededException;
+
+/**
+ * Maps admission and query limit rejections to responses for every controller that reads elements.
+ */
+@RestControllerAdvice
+public class GuardrailExceptionHandler
+{
+  @ExceptionHandler(AdmissionRejectedException.class)
+  public ResponseEntity<ErrorResponse> handleAdmissionRejectedException(AdmissionRejectedException e)
+  {
+    return ResponseEntity.status(e.reason() == QUEUE_FULL ? TOO_MANY_REQUESTS : SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.retryAfter().toSeconds())))
+      .body(new ErrorResponse(e.getMessage()));
+  }
+
+  @ExceptionHandler(QueryLimitExceededException.class)
+  public ResponseEntity<ErrorResponse> handleQueryLimitExceededException(QueryLimitExceededException e)
+  {
+    return ResponseEntity.status(e.limit() == MAX_RESULTS ? BAD_REQUEST : SERVICE_UNAVAILABLE).body(new ErrorResponse(e.getMessage()));
+  }
+}
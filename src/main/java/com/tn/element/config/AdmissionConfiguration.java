@@ -0,0 +1,39 @@
+package com.tn.element.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.tn.element.admission.AdmissionControl;
+import com.tn.element.admission.AdmissionProperties;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+class AdmissionConfiguration
+{
+  @Bean
+  AdmissionControl admissionControl(AdmissionProperties admissionProperties, MeterRegistry meterRegistry)
+  {
+    return new AdmissionControl(admissionProperties, meterRegistry);
+  }
+
+  /**
+   * Runs list queries off the request thread.  A scan releases its admission permit only as its task ends, so at most one
+   * task per permit is running and at most one more per permit is waiting for a thread that is just finishing.
+   */
+  @Bean
+  ThreadPoolTaskExecutor scanTaskExecutor(AdmissionProperties admissionProperties)
+  {
+    int threads = admissionProperties.filteredScan().maxConcurrent() + admissionProperties.fullScan().maxConcurrent();
+
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(threads);
+    executor.setThreadNamePrefix("scan-");
+
+    return executor;
+  }
+}
@@ -0,0 +1,20 @@
+package com.tn.element.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.tn.element.api.ElementJsonCache;
+import com.tn.element.api.ElementJsonCacheProperties;
+
+@Configuration
+@EnableConfigurationProperties(ElementJsonCacheProperties.class)
+class CacheConfiguration
+{
+  @Bean
+  ElementJsonCache elementJsonCache(ObjectMapper objectMapper, ElementJsonCacheProperties elementJsonCacheProperties)
+  {
+    return new ElementJsonCache(objectMapper, elementJsonCacheProperties.maxEntries());
+  }
+}
@@ -0,0 +1,33 @@
+package com.tn.element.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.tn.element.admission.AdmissionControl;
+import com.tn.element.hierarchy.HierarchyIndex;
+import com.tn.element.hierarchy.HierarchyProperties;
+import com.tn.element.repository.ElementRepository;
+import com.tn.element.repository.QueryLimitsProperties;
+
+/**
+ * The condition is evaluated at build time by Spring AOT, so in the <code>fast-startup</code> build
+ * <code>element.hierarchy.enabled</code> must be set when packaging rather than when starting the application.
+ */
+@Configuration
+@EnableConfigurationProperties(HierarchyProperties.class)
+@ConditionalOnProperty(prefix = "element.hierarchy", name = "enabled", havingValue = "true")
+class HierarchyConfiguration
+{
+  @Bean
+  HierarchyIndex hierarchyIndex(
+    ElementRepository elementRepository,
+    AdmissionControl admissionControl,
+    QueryLimitsProperties queryLimitsProperties,
+    HierarchyProperties hierarchyProperties
+  )
+  {
+    return new HierarchyIndex(elementRepository, admissionControl, queryLimitsProperties, hierarchyProperties.maxElements());
+  }
+}
@@ -3,18 +3,23 @@ package com.tn.element.config;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.tn.element.domain.Element;
 import com.tn.element.repository.ElementRepositoryImpl;
+import com.tn.element.repository.QueryLimitsProperties;
 import com.tn.query.DefaultQueryParser;
+import com.tn.query.QueryParser;
 import com.tn.query.ValueMappers;
 import com.tn.query.jpa.JpaPredicateFactory;
 import com.tn.query.jpa.NameMappings;
 
 @Configuration
+@EnableConfigurationProperties(QueryLimitsProperties.class)
 class RepositoryConfiguration
 {
   @Bean
@@ -26,13 +31,23 @@ class RepositoryConfiguration
     return new ElementRepositoryImpl(
       entityManager,
       criteriaQuery,
-      new DefaultQueryParser<>(
-        new JpaPredicateFactory(
-          entityManager.getCriteriaBuilder(),
-          NameMappings.forFields(Element.class, criteriaQuery)
-        ),
-        ValueMappers.forFields(Element.class)
-      )
+      queryParser(criteriaBuilder, criteriaQuery),
+      () ->
+      {
+        CriteriaQuery<Element> callCriteriaQuery = criteriaBuilder.createQuery(Element.class);
+        return new ElementRepositoryImpl.ParsingQuery(callCriteriaQuery, queryParser(criteriaBuilder, callCriteriaQuery));
+      }
+    );
+  }
+
+  private static QueryParser<Predicate> queryParser(CriteriaBuilder criteriaBuilder, CriteriaQuery<Element> criteriaQuery)
+  {
+    return new DefaultQueryParser<>(
+      new JpaPredicateFactory(
+        criteriaBuilder,
+        NameMappings.forFields(Element.class, criteriaQuery)
+      ),
+      ValueMappers.forFields(Element.class)
     );
   }
 }
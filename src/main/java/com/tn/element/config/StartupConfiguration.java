@@ -0,0 +1,36 @@
+package com.tn.element.config;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import com.tn.element.repository.ElementRepositoryImpl;
+
+@Configuration
+@Profile("fast-startup")
+class StartupConfiguration
+{
+  /**
+   * Migrations, the entity manager factory and the repositories are critical to serving requests, so they stay eager
+   * under lazy initialization rather than moving the Hibernate metamodel build onto the first request.
+   */
+  @Bean
+  static LazyInitializationExcludeFilter eagerPersistence()
+  {
+    return LazyInitializationExcludeFilter.forBeanTypes(
+      FlywayMigrationInitializer.class,
+      EntityManagerFactory.class,
+      AbstractEntityManagerFactoryBean.class,
+      Repository.class,
+      RepositoryFactoryBeanSupport.class,
+      ElementRepositoryImpl.class
+    );
+  }
+}
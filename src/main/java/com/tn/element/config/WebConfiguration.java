@@ -0,0 +1,41 @@
+package com.tn.element.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+class WebConfiguration
+{
+  /**
+   * Boot only creates its <code>applicationTaskExecutor</code> when no other executor is declared, so the scan executor
+   * would otherwise leave Spring MVC streaming responses on unpooled threads.  This restores it from the
+   * <code>spring.task.execution</code> settings.
+   */
+  @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+  ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder)
+  {
+    return threadPoolTaskExecutorBuilder.build();
+  }
+
+  /**
+   * List responses are written by the <code>applicationTaskExecutor</code> once their scan has returned.
+   */
+  @Bean
+  WebMvcConfigurer asyncSupportConfigurer(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor)
+  {
+    return new WebMvcConfigurer()
+    {
+      @Override
+      public void configureAsyncSupport(AsyncSupportConfigurer configurer)
+      {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+      }
+    };
+  }
+}
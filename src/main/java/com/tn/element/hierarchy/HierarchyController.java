@@ -0,0 +1,75 @@
+package com.tn.element.hierarchy;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/hierarchy/{ownerId}")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "element.hierarchy", name = "enabled", havingValue = "true")
+public class HierarchyController
+{
+  private final HierarchyIndex hierarchyIndex;
+
+  @GetMapping
+  public List<Node> roots(@PathVariable("ownerId") String ownerId)
+  {
+    OwnerHierarchy hierarchy = hierarchyIndex.hierarchyFor(ownerId);
+    return nodes(hierarchy, hierarchy.roots());
+  }
+
+  @GetMapping("/{id}/children")
+  public List<Node> children(@PathVariable("ownerId") String ownerId, @PathVariable("id") long id)
+  {
+    OwnerHierarchy hierarchy = hierarchyFor(ownerId, id);
+    return nodes(hierarchy, hierarchy.children(id));
+  }
+
+  @GetMapping("/{id}/subtree")
+  public List<Node> subtree(@PathVariable("ownerId") String ownerId, @PathVariable("id") long id)
+  {
+    OwnerHierarchy hierarchy = hierarchyFor(ownerId, id);
+    return nodes(hierarchy, hierarchy.subtree(id));
+  }
+
+  @GetMapping("/{id}/path")
+  public List<Node> path(@PathVariable("ownerId") String ownerId, @PathVariable("id") long id)
+  {
+    OwnerHierarchy hierarchy = hierarchyFor(ownerId, id);
+    return nodes(hierarchy, hierarchy.path(id));
+  }
+
+  private OwnerHierarchy hierarchyFor(String ownerId, long id)
+  {
+    OwnerHierarchy hierarchy = hierarchyIndex.hierarchyFor(ownerId);
+    if (!hierarchy.contains(id)) throw new ResponseStatusException(NOT_FOUND, "Element not found for owner: " + ownerId + " and id: " + id);
+
+    return hierarchy;
+  }
+
+  private static List<Node> nodes(OwnerHierarchy hierarchy, long[] ids)
+  {
+    return Arrays.stream(ids).mapToObj(id -> Node.of(hierarchy, id)).toList();
+  }
+
+  public record Node(long id, Long parentId, String type, String name)
+  {
+    static Node of(OwnerHierarchy hierarchy, long id)
+    {
+      long parentId = hierarchy.parentId(id);
+      return new Node(id, parentId == OwnerHierarchy.NO_PARENT ? null : parentId, hierarchy.type(id), hierarchy.name(id));
+    }
+  }
+}
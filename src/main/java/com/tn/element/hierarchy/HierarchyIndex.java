@@ -0,0 +1,212 @@
+package com.tn.element.hierarchy;
+
+import static com.tn.element.admission.RequestCost.FILTERED_SCAN;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tn.element.admission.AdmissionControl;
+import com.tn.element.domain.Element;
+import com.tn.element.repository.ElementRepository;
+import com.tn.element.repository.QueryCancellation;
+import com.tn.element.repository.QueryLimits;
+import com.tn.element.repository.QueryLimitsProperties;
+
+/**
+ * Caches an {@link OwnerHierarchy} per owner, loading it on first use and keeping it current from this instance's
+ * committed writes.  The least recently used owners are evicted once the total number of indexed elements exceeds the limit.
+ * Cached reads take no lock, and changed snapshots are built outside the lock then published only if still current.
+ */
+@Slf4j
+public class HierarchyIndex
+{
+  private final ElementRepository elementRepository;
+  private final AdmissionControl admissionControl;
+  private final QueryLimits loadLimits;
+  private final int maxElements;
+  private final Map<String, Cached> hierarchies = new ConcurrentHashMap<>();
+  private final Map<String, Load> loads = new HashMap<>();
+  private final Object lock = new Object();
+  private int elementCount;
+
+  public HierarchyIndex(
+    ElementRepository elementRepository,
+    AdmissionControl admissionControl,
+    QueryLimitsProperties queryLimitsProperties,
+    int maxElements
+  )
+  {
+    this.elementRepository = elementRepository;
+    this.admissionControl = admissionControl;
+    this.loadLimits = queryLimitsProperties.hierarchyLoad();
+    this.maxElements = maxElements;
+  }
+
+  public OwnerHierarchy hierarchyFor(String ownerId)
+  {
+    Cached cached = hierarchies.get(ownerId);
+    if (cached != null) return cached.used();
+
+    long writesBeforeLoad;
+    synchronized (lock)
+    {
+      cached = hierarchies.get(ownerId);
+      if (cached != null) return cached.used();
+
+      Load load = loads.computeIfAbsent(ownerId, id -> new Load());
+      load.loaders++;
+      writesBeforeLoad = load.writes;
+    }
+
+    OwnerHierarchy hierarchy = null;
+    try
+    {
+      hierarchy = load(ownerId);
+      return hierarchy;
+    }
+    finally
+    {
+      synchronized (lock)
+      {
+        Load load = loads.get(ownerId);
+
+        // A write committed for this owner while loading may be missing from the snapshot, so only cache it when none was.
+        // Owners without elements are not cached, so probing unknown owner ids cannot grow the index.
+        if (hierarchy != null && hierarchy.size() > 0 && load.writes == writesBeforeLoad) put(hierarchies.get(ownerId), new Cached(hierarchy));
+        if (--load.loaders == 0) loads.remove(ownerId);
+      }
+    }
+  }
+
+  public void saved(Element element)
+  {
+    afterCommit(() -> changed(element.ownerId(), hierarchy -> hierarchy.with(element)));
+  }
+
+  public void deleted(Element element)
+  {
+    afterCommit(() -> changed(element.ownerId(), hierarchy -> hierarchy.without(element.id())));
+  }
+
+  private OwnerHierarchy load(String ownerId)
+  {
+    try (var permit = admissionControl.admit(FILTERED_SCAN))
+    {
+      return OwnerHierarchy.of(ownerId, elementRepository.findByOwnerId(ownerId, loadLimits, new QueryCancellation()));
+    }
+  }
+
+  private void changed(String ownerId, UnaryOperator<OwnerHierarchy> change)
+  {
+    // Counted before the cached snapshot is read, so a load either sees this write counted or has already been cached.
+    synchronized (lock)
+    {
+      Load load = loads.get(ownerId);
+      if (load != null) load.writes++;
+    }
+
+    while (true)
+    {
+      Cached cached = hierarchies.get(ownerId);
+      if (cached == null) return;
+
+      Cached changed = new Cached(change.apply(cached.hierarchy), cached.lastUsed);
+      synchronized (lock)
+      {
+        // Another change published first, so apply this one to its snapshot instead.
+        if (hierarchies.get(ownerId) != cached) continue;
+
+        put(cached, changed);
+        return;
+      }
+    }
+  }
+
+  private void afterCommit(Runnable change)
+  {
+    if (!TransactionSynchronizationManager.isSynchronizationActive())
+    {
+      change.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+      new TransactionSynchronization()
+      {
+        @Override
+        public void afterCommit()
+        {
+          change.run();
+        }
+      }
+    );
+  }
+
+  private void put(Cached previous, Cached cached)
+  {
+    hierarchies.put(cached.hierarchy.ownerId(), cached);
+    elementCount += cached.hierarchy.size() - (previous != null ? previous.hierarchy.size() : 0);
+
+    if (elementCount > maxElements) evict();
+  }
+
+  private void evict()
+  {
+    List<Cached> leastRecentlyUsed = new ArrayList<>(hierarchies.values());
+    leastRecentlyUsed.sort(Comparator.comparingLong(cached -> cached.lastUsed));
+
+    for (Iterator<Cached> iterator = leastRecentlyUsed.iterator(); elementCount > maxElements && iterator.hasNext(); )
+    {
+      OwnerHierarchy eldest = iterator.next().hierarchy;
+      hierarchies.remove(eldest.ownerId());
+      elementCount -= eldest.size();
+
+      log.debug("Evicted hierarchy for owner: {}", eldest.ownerId());
+    }
+  }
+
+  /**
+   * A cached snapshot and when it was last read, which orders eviction without making reads take a lock.
+   */
+  private static class Cached
+  {
+    private final OwnerHierarchy hierarchy;
+    private volatile long lastUsed;
+
+    Cached(OwnerHierarchy hierarchy)
+    {
+      this(hierarchy, System.nanoTime());
+    }
+
+    Cached(OwnerHierarchy hierarchy, long lastUsed)
+    {
+      this.hierarchy = hierarchy;
+      this.lastUsed = lastUsed;
+    }
+
+    OwnerHierarchy used()
+    {
+      lastUsed = System.nanoTime();
+      return hierarchy;
+    }
+  }
+
+  /**
+   * Tracks the in-flight loads of one owner and the writes committed for it since the first of them started.
+   */
+  private static class Load
+  {
+    private int loaders;
+    private long writes;
+  }
+}
@@ -0,0 +1,6 @@
+package com.tn.element.hierarchy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("element.hierarchy")
+public record HierarchyProperties(boolean enabled, int maxElements) {}
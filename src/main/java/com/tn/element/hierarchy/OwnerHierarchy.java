@@ -0,0 +1,296 @@
+package com.tn.element.hierarchy;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.tn.element.domain.Element;
+
+/**
+ * An immutable snapshot of one owner's element tree held in primitive arrays: ids sorted for binary search, parent ids
+ * alongside them, children as a compressed adjacency list and <code>type</code>/<code>name</code> dictionary-encoded.
+ * Changes produce a new snapshot, sharing the dictionaries, so readers never need to lock.
+ */
+public final class OwnerHierarchy
+{
+  public static final long NO_PARENT = -1L;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final String ownerId;
+  private final long[] ids;
+  private final long[] parentIds;
+  private final int[] typeCodes;
+  private final int[] nameCodes;
+  private final Dictionary types;
+  private final Dictionary names;
+  private final int[] childOffsets;
+  private final long[] childIds;
+
+  private OwnerHierarchy(String ownerId, long[] ids, long[] parentIds, int[] typeCodes, int[] nameCodes, Dictionary types, Dictionary names)
+  {
+    this.ownerId = ownerId;
+    this.ids = ids;
+    this.parentIds = parentIds;
+    this.typeCodes = typeCodes;
+    this.nameCodes = nameCodes;
+    this.types = types;
+    this.names = names;
+    this.childOffsets = new int[ids.length + 1];
+    this.childIds = new long[ids.length];
+
+    indexChildren();
+  }
+
+  public static OwnerHierarchy of(String ownerId, Collection<Element> elements)
+  {
+    Element[] sorted = elements.stream().sorted((e1, e2) -> Long.compare(e1.id(), e2.id())).toArray(Element[]::new);
+
+    long[] ids = new long[sorted.length];
+    long[] parentIds = new long[sorted.length];
+    int[] typeCodes = new int[sorted.length];
+    int[] nameCodes = new int[sorted.length];
+    Dictionary types = new Dictionary();
+    Dictionary names = new Dictionary();
+
+    for (int i = 0; i < sorted.length; i++)
+    {
+      ids[i] = sorted[i].id();
+      parentIds[i] = sorted[i].parentId() != null ? sorted[i].parentId() : NO_PARENT;
+      typeCodes[i] = types.encode(sorted[i].type());
+      nameCodes[i] = names.encode(sorted[i].name());
+    }
+
+    return new OwnerHierarchy(ownerId, ids, parentIds, typeCodes, nameCodes, types, names);
+  }
+
+  public String ownerId()
+  {
+    return ownerId;
+  }
+
+  public int size()
+  {
+    return ids.length;
+  }
+
+  public boolean contains(long id)
+  {
+    return indexOf(id) >= 0;
+  }
+
+  public long parentId(long id)
+  {
+    return parentIds[requireIndexOf(id)];
+  }
+
+  public String type(long id)
+  {
+    return types.decode(typeCodes[requireIndexOf(id)]);
+  }
+
+  public String name(long id)
+  {
+    return names.decode(nameCodes[requireIndexOf(id)]);
+  }
+
+  public long[] roots()
+  {
+    int count = 0;
+    for (long parentId : parentIds)
+    {
+      if (parentId == NO_PARENT) count++;
+    }
+
+    long[] roots = new long[count];
+    for (int i = 0, root = 0; root < count; i++)
+    {
+      if (parentIds[i] == NO_PARENT) roots[root++] = ids[i];
+    }
+
+    return roots;
+  }
+
+  public long[] children(long id)
+  {
+    int index = requireIndexOf(id);
+    return Arrays.copyOfRange(childIds, childOffsets[index], childOffsets[index + 1]);
+  }
+
+  /**
+   * Returns the element and all of its descendants, depth first with each parent before its children.
+   */
+  public long[] subtree(long id)
+  {
+    long[] result = new long[INITIAL_CAPACITY];
+    int count = 0;
+
+    int[] stack = new int[INITIAL_CAPACITY];
+    int top = 0;
+    stack[top++] = requireIndexOf(id);
+
+    // Bounded by size as well as the stack so a cycle introduced by a bad update cannot loop forever.
+    while (top > 0 && count < ids.length)
+    {
+      int index = stack[--top];
+      if (count == result.length) result = Arrays.copyOf(result, result.length * 2);
+      result[count++] = ids[index];
+
+      int required = top + childOffsets[index + 1] - childOffsets[index];
+      if (required > stack.length && stack.length < ids.length) stack = Arrays.copyOf(stack, Math.min(Math.max(stack.length * 2, required), ids.length));
+      for (int child = childOffsets[index + 1] - 1; child >= childOffsets[index] && top < stack.length; child--) stack[top++] = indexOf(childIds[child]);
+    }
+
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Returns the ids from the root down to, and including, the element.
+   */
+  public long[] path(long id)
+  {
+    long[] reversed = new long[INITIAL_CAPACITY];
+    int count = 0;
+
+    for (int index = requireIndexOf(id); index >= 0 && count < ids.length; index = parentIds[index] == NO_PARENT ? -1 : indexOf(parentIds[index]))
+    {
+      if (count == reversed.length) reversed = Arrays.copyOf(reversed, reversed.length * 2);
+      reversed[count++] = ids[index];
+    }
+
+    long[] path = new long[count];
+    for (int i = 0; i < count; i++) path[i] = reversed[count - 1 - i];
+
+    return path;
+  }
+
+  public OwnerHierarchy with(Element element)
+  {
+    int index = indexOf(element.id());
+    int insertAt = index >= 0 ? index : -index - 1;
+    int length = index >= 0 ? ids.length : ids.length + 1;
+
+    long[] newIds = insert(ids, length, insertAt, index >= 0, element.id());
+    long[] newParentIds = insert(parentIds, length, insertAt, index >= 0, element.parentId() != null ? element.parentId() : NO_PARENT);
+
+    int[] newTypeCodes = insert(typeCodes, length, insertAt, index >= 0, types.encode(element.type()));
+    int[] newNameCodes = insert(nameCodes, length, insertAt, index >= 0, names.encode(element.name()));
+
+    return new OwnerHierarchy(ownerId, newIds, newParentIds, newTypeCodes, newNameCodes, types, names);
+  }
+
+  public OwnerHierarchy without(long id)
+  {
+    int index = indexOf(id);
+    if (index < 0) return this;
+
+    return new OwnerHierarchy(
+      ownerId,
+      remove(ids, index),
+      remove(parentIds, index),
+      remove(typeCodes, index),
+      remove(nameCodes, index),
+      types,
+      names
+    );
+  }
+
+  private int indexOf(long id)
+  {
+    return Arrays.binarySearch(ids, id);
+  }
+
+  private int requireIndexOf(long id)
+  {
+    int index = indexOf(id);
+    if (index < 0) throw new IllegalArgumentException("Element " + id + " not in hierarchy for owner: " + ownerId);
+
+    return index;
+  }
+
+  private void indexChildren()
+  {
+    int[] parentIndexes = new int[ids.length];
+    for (int i = 0; i < ids.length; i++)
+    {
+      parentIndexes[i] = parentIds[i] == NO_PARENT ? -1 : indexOf(parentIds[i]);
+      if (parentIndexes[i] >= 0) childOffsets[parentIndexes[i] + 1]++;
+    }
+
+    for (int i = 0; i < ids.length; i++) childOffsets[i + 1] += childOffsets[i];
+
+    int[] next = Arrays.copyOf(childOffsets, ids.length);
+    for (int i = 0; i < ids.length; i++)
+    {
+      if (parentIndexes[i] >= 0) childIds[next[parentIndexes[i]]++] = ids[i];
+    }
+  }
+
+  private static long[] insert(long[] values, int length, int index, boolean replace, long value)
+  {
+    long[] result = new long[length];
+    System.arraycopy(values, 0, result, 0, index);
+    result[index] = value;
+    System.arraycopy(values, replace ? index + 1 : index, result, index + 1, length - index - 1);
+
+    return result;
+  }
+
+  private static int[] insert(int[] values, int length, int index, boolean replace, int value)
+  {
+    int[] result = new int[length];
+    System.arraycopy(values, 0, result, 0, index);
+    result[index] = value;
+    System.arraycopy(values, replace ? index + 1 : index, result, index + 1, length - index - 1);
+
+    return result;
+  }
+
+  private static long[] remove(long[] values, int index)
+  {
+    long[] result = new long[values.length - 1];
+    System.arraycopy(values, 0, result, 0, index);
+    System.arraycopy(values, index + 1, result, index, result.length - index);
+
+    return result;
+  }
+
+  private static int[] remove(int[] values, int index)
+  {
+    int[] result = new int[values.length - 1];
+    System.arraycopy(values, 0, result, 0, index);
+    System.arraycopy(values, index + 1, result, index, result.length - index);
+
+    return result;
+  }
+
+  /**
+   * An append-only dictionary shared by the snapshots of one owner.  Codes are never reused, so a snapshot can decode its
+   * codes while a later change adds values; values no snapshot uses any longer are dropped when the owner is reloaded.
+   */
+  private static class Dictionary
+  {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] values = new String[INITIAL_CAPACITY];
+
+    synchronized int encode(String value)
+    {
+      Integer code = codes.get(value);
+      if (code != null) return code;
+
+      code = codes.size();
+      String[] current = code == values.length ? Arrays.copyOf(values, values.length * 2) : values;
+      current[code] = value;
+      values = current;
+      codes.put(value, code);
+
+      return code;
+    }
+
+    String decode(int code)
+    {
+      return values[code];
+    }
+  }
+}
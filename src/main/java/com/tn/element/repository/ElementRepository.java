@@ -5,4 +5,4 @@ import org.springframework.data.repository.CrudRepository;
 import com.tn.element.domain.Element;
 import com.tn.query.jpa.QueryableRepository;
 
-public interface ElementRepository extends CrudRepository<Element, Long>, QueryableRepository<Element> {}
\ No newline at end of file
+public interface ElementRepository extends CrudRepository<Element, Long>, QueryableRepository<Element>, LimitedQueryableRepository<Element> {}
\ No newline at end of file
@@ -1,21 +1,117 @@
 package com.tn.element.repository;
 
+import static com.tn.element.repository.QueryLimitExceededException.Limit.MAX_RESULTS;
+import static com.tn.element.repository.QueryLimitExceededException.Limit.STATEMENT_TIMEOUT;
+
+import java.util.List;
+import java.util.function.Supplier;
+
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.tn.element.domain.Element;
 import com.tn.query.QueryParser;
 import com.tn.query.jpa.AbstractQueryableRepository;
 
-public class ElementRepositoryImpl extends AbstractQueryableRepository<Element>
+public class ElementRepositoryImpl extends AbstractQueryableRepository<Element> implements LimitedQueryableRepository<Element>
 {
-  public ElementRepositoryImpl(EntityManager entityManager, CriteriaQuery<Element> criteriaQuery, QueryParser<Predicate> queryParser)
+  private static final String HINT_TIMEOUT = "jakarta.persistence.query.timeout";
+
+  private final EntityManager entityManager;
+  private final Supplier<ParsingQuery> parsingQueries;
+
+  /**
+   * @param parsingQueries supplies a new criteria query, and a parser bound to it, for each limited query.  Hibernate
+   *                       translates the criteria tree when the query executes, so sharing one between concurrent callers
+   *                       would let one caller's where clause replace another's.
+   */
+  public ElementRepositoryImpl(
+    EntityManager entityManager,
+    CriteriaQuery<Element> criteriaQuery,
+    QueryParser<Predicate> queryParser,
+    Supplier<ParsingQuery> parsingQueries
+  )
   {
     super(
       entityManager,
       criteriaQuery,
       queryParser
     );
+
+    this.entityManager = entityManager;
+    this.parsingQueries = parsingQueries;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Element> findAll(QueryLimits limits, QueryCancellation cancellation)
+  {
+    return execute(entityManager.createQuery("SELECT e FROM Element e", Element.class), limits, cancellation);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Element> findWhere(String query, QueryLimits limits, QueryCancellation cancellation)
+  {
+    ParsingQuery parsingQuery = parsingQueries.get();
+    Predicate predicate = parsingQuery.queryParser().parse(query);
+
+    return execute(entityManager.createQuery(parsingQuery.criteriaQuery().where(predicate)), limits, cancellation);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Element> findByOwnerId(String ownerId, QueryLimits limits, QueryCancellation cancellation)
+  {
+    return execute(
+      entityManager.createQuery("SELECT e FROM Element e WHERE e.ownerId = :ownerId", Element.class).setParameter("ownerId", ownerId),
+      limits,
+      cancellation
+    );
+  }
+
+  private List<Element> execute(TypedQuery<Element> query, QueryLimits limits, QueryCancellation cancellation)
+  {
+    cancellation.onCancel(entityManager.unwrap(Session.class)::cancelQuery);
+    try
+    {
+      if (cancellation.isCancelled()) throw new QueryCancelledException("Query cancelled before execution", null);
+
+      List<Element> elements = query
+        .setMaxResults(limits.maxResults() + 1)
+        .setHint(HINT_TIMEOUT, limits.statementTimeout().toMillis())
+        .getResultList();
+
+      if (elements.size() > limits.maxResults())
+      {
+        throw new QueryLimitExceededException(MAX_RESULTS, "Query matched more than the maximum of " + limits.maxResults() + " elements", null);
+      }
+
+      return elements;
+    }
+    catch (PersistenceException e)
+    {
+      // The driver may report a cancelled statement the same way as one that timed out.
+      if (cancellation.isCancelled()) throw new QueryCancelledException("Query cancelled", e);
+      if (e instanceof QueryTimeoutException)
+      {
+        throw new QueryLimitExceededException(STATEMENT_TIMEOUT, "Query exceeded the statement timeout of " + limits.statementTimeout().toMillis() + "ms", e);
+      }
+
+      throw e;
+    }
+    finally
+    {
+      cancellation.onCancel(null);
+    }
+  }
+
+  public record ParsingQuery(CriteriaQuery<Element> criteriaQuery, QueryParser<Predicate> queryParser) {}
 }
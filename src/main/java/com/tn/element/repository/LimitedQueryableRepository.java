@@ -0,0 +1,12 @@
+package com.tn.element.repository;
+
+import java.util.List;
+
+public interface LimitedQueryableRepository<T>
+{
+  List<T> findAll(QueryLimits limits, QueryCancellation cancellation);
+
+  List<T> findWhere(String query, QueryLimits limits, QueryCancellation cancellation);
+
+  List<T> findByOwnerId(String ownerId, QueryLimits limits, QueryCancellation cancellation);
+}
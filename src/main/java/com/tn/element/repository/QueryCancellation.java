@@ -0,0 +1,31 @@
+package com.tn.element.repository;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lets a thread other than the one executing a query, such as the one timing out an async request, cancel the in-flight
+ * JDBC statement.
+ */
+public class QueryCancellation
+{
+  private final AtomicReference<Runnable> canceller = new AtomicReference<>();
+  private volatile boolean cancelled;
+
+  public void cancel()
+  {
+    cancelled = true;
+
+    Runnable current = canceller.get();
+    if (current != null) current.run();
+  }
+
+  public boolean isCancelled()
+  {
+    return cancelled;
+  }
+
+  void onCancel(Runnable canceller)
+  {
+    this.canceller.set(canceller);
+  }
+}
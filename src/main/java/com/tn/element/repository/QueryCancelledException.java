@@ -0,0 +1,12 @@
+package com.tn.element.repository;
+
+/**
+ * Thrown by a query whose {@link QueryCancellation} was cancelled before or while it ran.
+ */
+public class QueryCancelledException extends RuntimeException
+{
+  public QueryCancelledException(String message, Throwable cause)
+  {
+    super(message, cause);
+  }
+}
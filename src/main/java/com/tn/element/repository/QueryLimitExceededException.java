@@ -0,0 +1,23 @@
+package com.tn.element.repository;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+@Getter
+@Accessors(fluent = true)
+public class QueryLimitExceededException extends RuntimeException
+{
+  private final Limit limit;
+
+  public QueryLimitExceededException(Limit limit, String message, Throwable cause)
+  {
+    super(message, cause);
+    this.limit = limit;
+  }
+
+  public enum Limit
+  {
+    MAX_RESULTS,
+    STATEMENT_TIMEOUT
+  }
+}
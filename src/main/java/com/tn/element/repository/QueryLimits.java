@@ -0,0 +1,5 @@
+package com.tn.element.repository;
+
+import java.time.Duration;
+
+public record QueryLimits(int maxResults, Duration statementTimeout) {}
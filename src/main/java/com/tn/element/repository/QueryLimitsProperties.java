@@ -0,0 +1,6 @@
+package com.tn.element.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("element.query")
+public record QueryLimitsProperties(QueryLimits filteredScan, QueryLimits fullScan, QueryLimits hierarchyLoad) {}